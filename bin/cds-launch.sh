@@ -0,0 +1,38 @@
+#!/usr/bin/env bash
+# Training run and fast start for applications using the ApplicationContext.
+#
+#   bin/cds-launch.sh train <classpath> <mainClass> [args...]
+#   bin/cds-launch.sh run   <classpath> <mainClass> [args...]
+#
+# "train" starts the application once, records the component classes in creation order (beans.idx) and
+# writes a dynamic class data sharing archive (app.jsa) of every class loaded by the run.
+# "run" starts from that archive and replays the recorded components instead of scanning the classpath.
+# Re-run "train" whenever components are added or removed. The classpath must only contain jar files,
+# class data sharing does not archive classes loaded from directories.
+# Output goes to $CDS_DIR (default target/cds).
+set -euo pipefail
+
+if [ $# -lt 3 ]; then
+    echo "usage: $0 train|run <classpath> <mainClass> [args...]" >&2
+    exit 2
+fi
+
+mode=$1
+classpath=$2
+shift 2
+dir=${CDS_DIR:-target/cds}
+java=${JAVA_HOME:+$JAVA_HOME/bin/}java
+
+case "$mode" in
+    train)
+        mkdir -p "$dir"
+        exec "$java" -XX:ArchiveClassesAtExit="$dir/app.jsa" -Ddi.training.dir="$dir" -cp "$classpath" "$@"
+        ;;
+    run)
+        exec "$java" -XX:SharedArchiveFile="$dir/app.jsa" -Ddi.startup.index="$dir/beans.idx" -cp "$classpath" "$@"
+        ;;
+    *)
+        echo "unknown mode: $mode" >&2
+        exit 2
+        ;;
+esac
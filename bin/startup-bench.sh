@@ -0,0 +1,61 @@
+#!/usr/bin/env bash
+# Time from JVM start to the first getBean, for the Main example and for a generated synthetic application,
+# in three modes: classpath scan, replay of the startup index, and index plus class data sharing archive
+# (see cds-launch.sh).
+#
+#   bin/startup-bench.sh [beanCount] [runs]     (defaults: 5000 beans, 5 runs per mode)
+#
+# The synthetic application has beanCount components in package synth, Bean<i> depends on Bean<i/2>.
+# Everything is written to target/startup-bench.
+set -euo pipefail
+
+beans=${1:-5000}
+runs=${2:-5}
+root=$(cd "$(dirname "$0")/.." && pwd)
+out=$root/target/startup-bench
+bin=${JAVA_HOME:+$JAVA_HOME/bin/}
+
+cd "$root"
+mvn -B -q -DskipTests package
+deps=$(mvn -B -q dependency:build-classpath -Dmdep.includeScope=runtime -Dmdep.outputFile=/dev/stdout)
+container=$root/target/JavaDependencyInjectionFromScratch-1.0-SNAPSHOT.jar
+
+rm -rf "$out"
+mkdir -p "$out/src/synth" "$out/classes"
+for ((i = 0; i < beans; i++)); do
+    dependency=""
+    if ((i > 0)); then
+        dependency="    @Autowired
+    private Bean$((i / 2)) dependency;
+"
+    fi
+    printf 'package synth;\n\nimport com.example.annotations.*;\n\n@Component\npublic class Bean%d {\n%s}\n' \
+        "$i" "$dependency" > "$out/src/synth/Bean$i.java"
+done
+"${bin}javac" -d "$out/classes" -cp "$container:$deps" "$out"/src/synth/*.java src/test/java/TimeToFirstBean.java
+"${bin}jar" cf "$out/synth.jar" -C "$out/classes" .
+classpath=$container:$deps:$out/synth.jar
+
+# mean time to first getBean of a command over $runs runs
+measure() {
+    local label=$1 total=0 ms
+    shift
+    for ((run = 0; run < runs; run++)); do
+        ms=$("$@" 2>&1 >/dev/null | sed -n 's/^TTFB //p')
+        total=$((total + ms))
+    done
+    printf '  %-12s %6d ms\n' "$label" $((total / runs))
+}
+
+# bench <name> <basePackage> <beanClass>
+bench() {
+    export CDS_DIR=$out/cds-$1
+    bin/cds-launch.sh train "$classpath" TimeToFirstBean "$2" "$3" >/dev/null 2>&1
+    echo "$1, mean of $runs runs:"
+    measure scan "${bin}java" -cp "$classpath" TimeToFirstBean "$2" "$3"
+    measure index "${bin}java" -Ddi.startup.index="$CDS_DIR/beans.idx" -cp "$classpath" TimeToFirstBean "$2" "$3"
+    measure "index + CDS" bin/cds-launch.sh run "$classpath" TimeToFirstBean "$2" "$3"
+}
+
+bench main com.example com.example.GreetingClient
+bench "synthetic-$beans" synth "synth.Bean$((beans - 1))"
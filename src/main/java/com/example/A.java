@@ -1,6 +1,7 @@
 package com.example;
 
 import com.example.annotations.*;
+import com.example.logger.LogUtils;
 
 @Component
 public class A {
@@ -9,6 +10,6 @@ public class A {
     private B b;
 
     public A() {
-        System.out.println("A created");
+        LogUtils.debug("A created");
     }
 }
@@ -2,6 +2,7 @@ package com.example;
 
 
 import com.example.annotations.*;
+import com.example.logger.LogUtils;
 
 @Component
 public class B {
@@ -10,6 +11,6 @@ public class B {
     private C c;
 
     public B() {
-        System.out.println("B created");
+        LogUtils.debug("B created");
     }
 }
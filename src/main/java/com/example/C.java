@@ -1,6 +1,7 @@
 package com.example;
 
 import com.example.annotations.*;
+import com.example.logger.LogUtils;
 
 @Component
 public class C {
@@ -9,6 +10,6 @@ public class C {
 //    private A a;
 
     public C() {
-        System.out.println("C created");
+        LogUtils.debug("C created");
     }
 }
@@ -1,10 +1,15 @@
 package com.example.DI;
 
 import com.example.annotations.*;
+import com.example.annotations.EventListener;
 import com.example.enums.Scope;
+import com.example.events.ApplicationEventMulticaster;
+import com.example.events.ApplicationEventPublisher;
+import com.example.events.ContextRefreshedEvent;
 import com.example.logger.LogUtils;
 import org.reflections.Reflections;
 
+import java.lang.reflect.Method;
 import java.util.*;
 
 
@@ -12,25 +17,101 @@ import java.util.*;
  * ApplicationContext is the core class responsible for managing the lifecycle of beans.
  * It handles scanning for components, dependency injection, and lifecycle management (like @PostConstruct).
  */
-public class ApplicationContext {
+public class ApplicationContext implements AutoCloseable {
     // BeanFactory for managing bean creation and retrieval
     private final BeanFactory beanFactory = new BeanFactory();
+    // Event bus, injectable as ApplicationEventPublisher
+    private final ApplicationEventMulticaster eventMulticaster = new ApplicationEventMulticaster();
+    // @EventListener methods found while scanning, by bean name
+    private final Map<String, List<Method>> listenerMethods = new LinkedHashMap<>();
 
     // Constructor that takes a base package to scan for components
     public ApplicationContext(String basePackage) throws Exception {
-        loadProperties();                               // Load properties from application.properties
+        loadProperties(beanFactory);                    // Load properties from application.properties
+        registerEventPublisher(beanFactory, eventMulticaster);
         scanComponents(basePackage);                    // Scan for components in the provided package
         beanFactory.injectDependencies();               // Inject dependencies into the components
+        registerEventListeners();                       // Bind @EventListener methods to the created beans
         beanFactory.initializePostConstructMethods();   // Invoke @PostConstruct methods after dependencies are injected
+        eventMulticaster.publishEvent(new ContextRefreshedEvent(this));
+    }
+
+    // Validate-only mode: scan the package and check dependencies, qualifiers, properties and cycles
+    // without creating a single bean. Returns every problem found, an empty list means the context will start.
+    public static List<String> validate(String basePackage) throws Exception {
+        BeanFactory factory = new BeanFactory();
+        loadProperties(factory);
+        registerEventPublisher(factory, new ApplicationEventMulticaster());
+        for (var entry : scanDefinitions(basePackage).entrySet())
+            factory.registerDefinition(entry.getKey(), entry.getValue());
+        return factory.validate();
     }
 
     public <T> T getBean(Class<T> clazz) {
-        return beanFactory.getComponent(clazz.getName());
+        beanFactory.recordRequest(clazz.getName());
+        return beanFactory.getComponent(clazz.getName(), clazz);
+    }
+
+    public <T> T getBean(String beanName, Class<T> clazz) {
+        beanFactory.recordRequest(beanName);
+        return beanFactory.getComponent(beanName, clazz);
+    }
+
+    // Dependency graph of all registered beans, for offline analysis of startup
+    public DependencyGraph getDependencyGraph() {
+        return beanFactory.getDependencyGraph();
+    }
+
+    // Start a batch of programmatic registrations, call refresh() after committing it
+    public BeanBatch registerBeans() {
+        return beanFactory.newBatch();
+    }
+
+    // Create, inject and initialize all beans registered through batches since the last refresh
+    public void refresh() {
+        beanFactory.refresh();
+        eventMulticaster.publishEvent(new ContextRefreshedEvent(this));
+    }
+
+    // Create batch singletons concurrently on refresh(), using virtual threads on Java 21+
+    public void setParallelInit(boolean parallelInit) {
+        beanFactory.setParallelInit(parallelInit);
+    }
+
+    // Compact the bean registry once startup is done, no beans can be registered afterwards
+    public RegistryFootprint freeze() {
+        return beanFactory.freeze();
+    }
+
+    public ApplicationEventPublisher getEventPublisher() {
+        return eventMulticaster;
+    }
+
+    // Deliver pending async events and stop the event bus threads
+    @Override
+    public void close() {
+        eventMulticaster.close();
+    }
+
+    private static void registerEventPublisher(BeanFactory beanFactory, ApplicationEventMulticaster eventMulticaster) {
+        beanFactory.registerSingleton(ApplicationEventPublisher.class, eventMulticaster);
+        beanFactory.setEventMulticaster(eventMulticaster);
+    }
+
+    private void registerEventListeners() {
+        for (var entry : listenerMethods.entrySet()) {
+            Object bean = beanFactory.getTarget(entry.getKey());
+            if (bean == null || bean instanceof Class) {
+                LogUtils.warn("Ignoring @EventListener methods of prototype bean {}", entry.getKey());
+                continue;
+            }
+            for (var method : entry.getValue()) eventMulticaster.addListener(bean, method);
+        }
     }
 
     // Method to load properties from application.properties file
-    private void loadProperties() throws Exception {
-        try (var input = getClass().getClassLoader().getResourceAsStream("application.properties")) {
+    private static void loadProperties(BeanFactory beanFactory) throws Exception {
+        try (var input = ApplicationContext.class.getClassLoader().getResourceAsStream("application.properties")) {
             if (input == null) {
                 LogUtils.warn("Sorry, unable to find application.properties");
                 return;
@@ -40,22 +121,44 @@ public class ApplicationContext {
     }
 
     // Method to scan components annotated with @Component within a given package
-    private void scanComponents(String basePackage) throws Exception {
-        LogUtils.info("start scanning " + basePackage + " package...");
-        Reflections reflections = new Reflections(basePackage);
-        Set<Class<?>> componentClasses = reflections.getTypesAnnotatedWith(Component.class);
+    private void scanComponents(String basePackage) {
+        List<Class<?>> creationOrder = new ArrayList<>();
+        for (var entry : scanDefinitions(basePackage).entrySet()) {
+            BeanDefinition definition = entry.getValue();
+            beanFactory.createBean(entry.getKey(), definition, definition.getBeanClass());
+
+            for (var method : definition.getBeanClass().getDeclaredMethods())
+                if (method.isAnnotationPresent(EventListener.class))
+                    listenerMethods.computeIfAbsent(entry.getKey(), name -> new ArrayList<>()).add(method);
+            creationOrder.add(definition.getBeanClass());
+        }
+        StartupIndex.record(basePackage, creationOrder); // only writes during a training run
+    }
+
+    // Build the bean definitions of all classes annotated with @Component within a given package
+    private static Map<String, BeanDefinition> scanDefinitions(String basePackage) {
+        // A startup index recorded by a training run replaces the classpath scan
+        Collection<Class<?>> componentClasses = StartupIndex.load(basePackage);
+        if (componentClasses == null) {
+            LogUtils.event(() -> "start scanning " + basePackage + " package...");
+            Reflections reflections = new Reflections(basePackage);
+            componentClasses = reflections.getTypesAnnotatedWith(Component.class);
+        }
+        Map<String, BeanDefinition> definitions = new LinkedHashMap<>();
 
         // Iterate over all detected component classes
         for (Class<?> componentClass : componentClasses) {
             Component componentAnnotation = componentClass.getAnnotation(Component.class);
+            if (componentAnnotation == null) continue; // stale index entry
             Scope scope = componentAnnotation.scope();
 
             String className = componentClass.getName();
             Qualifier qualifier = componentClass.getAnnotation(Qualifier.class);
-            LogUtils.info(componentClass + "\tscope " + scope);
+            LogUtils.event(() -> componentClass + "\tscope " + scope);
 
-            beanFactory.createBean(className, new BeanDefinition(componentClass, scope, qualifier), componentClass);
+            definitions.put(className, new BeanDefinition(componentClass, scope, qualifier));
         }
+        return definitions;
     }
 }
 
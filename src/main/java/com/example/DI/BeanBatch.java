@@ -0,0 +1,51 @@
+package com.example.DI;
+
+import com.example.enums.Scope;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * BeanBatch collects programmatic bean registrations (e.g. from generated code) and hands them to the
+ * BeanFactory in one step. Each bean is backed by a Supplier, so no reflection is needed to create it.
+ * The whole batch is validated on commit() and nothing is instantiated until the factory is refreshed.
+ */
+public class BeanBatch {
+    private final BeanFactory beanFactory;
+    private final Map<String, BeanDefinition> definitions = new LinkedHashMap<>();
+    private final List<String> problems = new ArrayList<>(); // only the duplicates found by register()
+
+    BeanBatch(BeanFactory beanFactory) {
+        this.beanFactory = beanFactory;
+    }
+
+    // Register a singleton named after its class
+    public <T> BeanBatch register(Class<T> type, Supplier<? extends T> supplier) {
+        return register(type.getName(), type, Scope.SINGLETON, null, supplier);
+    }
+
+    public <T> BeanBatch register(String beanName, Class<T> type, Supplier<? extends T> supplier) {
+        return register(beanName, type, Scope.SINGLETON, null, supplier);
+    }
+
+    public <T> BeanBatch register(String beanName, Class<T> type, Scope scope, String qualifier, Supplier<? extends T> supplier) {
+        // problems are collected and reported together on commit()
+        if (definitions.putIfAbsent(beanName, new BeanDefinition(type, scope, qualifier, supplier)) != null)
+            problems.add("Bean '" + beanName + "' is registered twice in the same batch");
+        return this;
+    }
+
+    public int size() {
+        return definitions.size();
+    }
+
+    // Validate and register the batch, the beans are created on the next refresh().
+    // A batch that failed validation can be committed again once the missing beans are registered.
+    public void commit() {
+        beanFactory.registerBatch(definitions, problems);
+        definitions.clear();
+    }
+}
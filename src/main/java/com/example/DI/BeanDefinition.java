@@ -4,16 +4,47 @@ package com.example.DI;
 import com.example.annotations.Qualifier;
 import com.example.enums.Scope;
 
+import java.util.function.Supplier;
+
 // BeanDefinition class stores metadata about a bean, including its class type and scope.
 public class BeanDefinition {
     private final Class<?> beanClass; // the class type of the bean
     private final Scope scope; // the scope of the bean (SINGLETON or PROTOTYPE)
     private final Qualifier qualifier;
+    private final String qualifierName; // qualifier value, either from the annotation or given programmatically
+    private final Supplier<?> supplier; // optional factory used instead of reflective construction
+    private final boolean supplied; // created by a supplier, still true once the supplier is dropped
 
     public BeanDefinition(Class<?> beanClass, Scope scope, Qualifier qualifier) {
         this.beanClass = beanClass;
         this.scope = scope;
         this.qualifier = qualifier;
+        this.qualifierName = qualifier != null ? qualifier.value() : null;
+        this.supplier = null;
+        this.supplied = false;
+    }
+
+    public BeanDefinition(Class<?> beanClass, Scope scope, String qualifierName, Supplier<?> supplier) {
+        this.beanClass = beanClass;
+        this.scope = scope;
+        this.qualifier = null;
+        this.qualifierName = qualifierName;
+        this.supplier = supplier;
+        this.supplied = supplier != null;
+    }
+
+    private BeanDefinition(BeanDefinition definition) {
+        this.beanClass = definition.beanClass;
+        this.scope = definition.scope;
+        this.qualifier = definition.qualifier;
+        this.qualifierName = definition.qualifierName;
+        this.supplier = null;
+        this.supplied = definition.supplied;
+    }
+
+    // Same definition without the supplier, for singletons that are already created
+    BeanDefinition withoutSupplier() {
+        return supplier == null ? this : new BeanDefinition(this);
     }
 
     public Class<?> getBeanClass() {
@@ -27,4 +58,16 @@ public class BeanDefinition {
     public Qualifier getQualifier() {
         return qualifier;
     }
+
+    public String getQualifierName() {
+        return qualifierName;
+    }
+
+    public Supplier<?> getSupplier() {
+        return supplier;
+    }
+
+    boolean isSupplied() {
+        return supplied;
+    }
 }
@@ -1,6 +1,9 @@
 package com.example.DI;
 
 import com.example.annotations.*;
+import com.example.aop.ProxyFactory;
+import com.example.events.ApplicationEventMulticaster;
+import com.example.events.BeanInitializedEvent;
 import com.example.enums.Scope;
 import com.example.logger.LogUtils;
 import exceptions.CircularDependencyException;
@@ -9,43 +12,238 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
 
 public class BeanFactory {
-    private final Map<Class<?>, Set<Class<?>>> classDependencies = new ConcurrentHashMap<>();
-    private final Map<String, BeanDefinition> beanDefinitions = new ConcurrentHashMap<>();
-    private final Map<String, Object> qualifiedBeans = new ConcurrentHashMap<>();
-    private final Map<String, Object> beans = new ConcurrentHashMap<>();
+    // Registry used while beans are registered and created, replaced by a FrozenRegistry on freeze().
+    // Readers load a map before they check frozen, see freeze().
+    private volatile Map<Class<?>, Set<Class<?>>> classDependencies = new ConcurrentHashMap<>();
+    private volatile Map<String, BeanDefinition> beanDefinitions = new ConcurrentHashMap<>();
+    private volatile Map<String, Object> qualifiedBeans = new ConcurrentHashMap<>();
+    private volatile Map<String, Object> beans = new ConcurrentHashMap<>();
+    private volatile Map<String, Object> proxyTargets = new ConcurrentHashMap<>(); // intercepted beans behind their proxies
+    private final Map<String, List<String>> interfaceBeans = new ConcurrentHashMap<>(); // intercepted beans by interface name
+    private List<String> pendingBeans = new ArrayList<>(); // batch registrations awaiting refresh(), guarded by lock
+    private Map<Class<?>, List<InjectionPoint>> injectionPoints = new ConcurrentHashMap<>();
+    private volatile Map<String, Long> initTimes = new ConcurrentHashMap<>(); // nanoseconds spent creating each bean
+    private volatile FrozenRegistry frozen;
+    // Guards registration, refresh() and freeze(); a lock rather than a monitor so that refresh() waiting
+    // for parallel suppliers doesn't pin a virtual thread to its carrier
+    private final ReentrantLock lock = new ReentrantLock();
     private Properties properties = new Properties();
+    private volatile boolean parallelInit;
+    private ApplicationEventMulticaster eventMulticaster;
+    private final Set<String> requestedBeans = ConcurrentHashMap.newKeySet();
 
     public void createBean(String beanName, BeanDefinition beanDefinition, Class<?> componentClass) {
+        checkNotFrozen(beanName);
         // register bean
         beanDefinitions.put(beanName, beanDefinition);
+        addInterfaceNames(interfaceBeans, beanName, beanDefinition.getBeanClass());
         // create bean
-        var classDef = beanDefinitions.get(componentClass.getName());
-        var className = classDef.getBeanClass().getName();
-        var qualifier = componentClass.getAnnotation(Qualifier.class);
+        var className = beanDefinition.getBeanClass().getName();
+        var qualifier = beanDefinition.getQualifierName();
 
-        if (classDef.getScope() == Scope.SINGLETON) {
+        if (beanDefinition.getScope() == Scope.SINGLETON) {
             try {
                 // Create and store the singleton instance if it's not already present
-                beans.putIfAbsent(className, createInstance(componentClass));
+                long start = System.nanoTime();
+                beans.putIfAbsent(className, intercept(className, createInstance(componentClass)));
+                initTimes.merge(className, System.nanoTime() - start, Long::sum);
                 Object instance = beans.get(className);
-                LogUtils.info(componentClass.getName() + "created successfully and the dependency has been injected.\n");
+                LogUtils.event(() -> componentClass.getName() + " created successfully and the dependency has been injected.");
 
-                if (qualifier != null) qualifiedBeans.putIfAbsent(qualifier.value(), instance);
+                if (qualifier != null) qualifiedBeans.putIfAbsent(qualifier, instance);
 
             } catch (Exception e) {
                 throw new RuntimeException("Failed to create component: " + componentClass.getName(), e);
             }
-        } else if (classDef.getScope() == Scope.PROTOTYPE) {
+        } else if (beanDefinition.getScope() == Scope.PROTOTYPE) {
             // Store the class itself instead of an instance
             beans.putIfAbsent(className, componentClass);
-            if (qualifier != null) qualifiedBeans.putIfAbsent(qualifier.value(), componentClass);
+            if (qualifier != null) qualifiedBeans.putIfAbsent(qualifier, componentClass);
         }
     }
 
+    // Start a batch of programmatic registrations, see BeanBatch
+    public BeanBatch newBatch() {
+        return new BeanBatch(this);
+    }
+
+    // Register a whole batch of definitions after validating it in a single pass.
+    // Nothing is instantiated here, the beans are created on the next refresh().
+    void registerBatch(Map<String, BeanDefinition> batch, List<String> batchProblems) {
+        lock.lock();
+        try {
+            checkNotFrozen("batch of " + batch.size());
+            List<String> problems = new ArrayList<>(batchProblems);
+            Set<String> batchQualifiers = new HashSet<>();
+            for (var entry : batch.entrySet()) {
+                var beanName = entry.getKey();
+                var definition = entry.getValue();
+                if (beanDefinitions.containsKey(beanName))
+                    problems.add("Bean '" + beanName + "' is already registered");
+                if (definition.getSupplier() == null)
+                    problems.add("Bean '" + beanName + "' has no supplier");
+                var qualifier = definition.getQualifierName();
+                if (qualifier != null && (qualifiedBeans.containsKey(qualifier) || !batchQualifiers.add(qualifier)))
+                    problems.add("Qualifier '" + qualifier + "' of bean '" + beanName + "' is already in use");
+            }
+
+            // One cycle check over the declared dependencies of the existing and the new beans
+            Map<Class<?>, Set<Class<?>>> graph = new HashMap<>();
+            Map<String, Class<?>> qualifiedTypes = new HashMap<>();
+            for (var definition : beanDefinitions.values())
+                if (definition.getQualifierName() != null)
+                    qualifiedTypes.put(definition.getQualifierName(), definition.getBeanClass());
+            for (var definition : batch.values())
+                if (definition.getQualifierName() != null)
+                    qualifiedTypes.put(definition.getQualifierName(), definition.getBeanClass());
+            // injection by type finds the bean registered under the class name of the field type,
+            // or the intercepted bean implementing that interface
+            Map<String, List<String>> batchInterfaceBeans = new HashMap<>(interfaceBeans);
+            for (var entry : batch.entrySet()) addInterfaceNames(batchInterfaceBeans, entry.getKey(), entry.getValue().getBeanClass());
+            Function<String, BeanDefinition> named = name -> {
+                BeanDefinition definition = batch.get(name);
+                return definition != null ? definition : beanDefinitions.get(name);
+            };
+            // many generated beans share a class, so each class is only inspected once
+            for (var definition : beanDefinitions.values())
+                graph.computeIfAbsent(definition.getBeanClass(), type -> declaredDependencies(type, qualifiedTypes, named, batchInterfaceBeans, null));
+            for (var definition : batch.values())
+                graph.computeIfAbsent(definition.getBeanClass(), type -> declaredDependencies(type, qualifiedTypes, named, batchInterfaceBeans, problems));
+            if (!problems.isEmpty())
+                throw new RuntimeException("Invalid bean batch:\n  " + String.join("\n  ", problems));
+            detectCircularDependencies(graph);
+
+            for (var entry : batch.entrySet()) {
+                beanDefinitions.put(entry.getKey(), entry.getValue());
+                addInterfaceNames(interfaceBeans, entry.getKey(), entry.getValue().getBeanClass());
+                pendingBeans.add(entry.getKey());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Instantiate everything registered through batches since the last refresh,
+    // then inject and initialize those beans in one go.
+    // If a supplier, the injection or the cycle check fails, the pending beans are removed again
+    // (definitions included), so the registry is left as it was before their batches were committed.
+    public void refresh() {
+        lock.lock();
+        try {
+            checkNotFrozen("refresh");
+            List<String> pending = new ArrayList<>(pendingBeans);
+            pendingBeans.clear();
+
+            Map<String, Object> created;
+            try {
+                // every singleton is supplied before any bean is published
+                created = parallelInit ? supplyInParallel(pending) : supplySequentially(pending);
+                for (var beanName : pending) {
+                    var definition = beanDefinitions.get(beanName);
+                    var qualifier = definition.getQualifierName();
+                    Object bean = definition.getScope() == Scope.SINGLETON
+                            ? intercept(beanName, created.get(beanName))
+                            : definition.getBeanClass();
+                    beans.put(beanName, bean);
+                    if (qualifier != null) qualifiedBeans.putIfAbsent(qualifier, bean);
+                }
+                for (Object component : created.values()) recordComponentDependencies(component);
+                detectCircularDependencies(classDependencies);
+            } catch (RuntimeException e) {
+                rollback(pending);
+                throw e;
+            }
+
+            if (eventMulticaster != null)
+                for (Object component : created.values()) eventMulticaster.addListeners(component);
+            for (var entry : created.entrySet()) timedPostConstruct(entry.getKey(), entry.getValue());
+            LogUtils.event(() -> "refresh created " + created.size() + " singleton(s)");
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Map<String, Object> supplySequentially(List<String> pending) {
+        Map<String, Object> created = new LinkedHashMap<>();
+        for (var beanName : pending) {
+            var definition = beanDefinitions.get(beanName);
+            if (definition.getScope() == Scope.SINGLETON) created.put(beanName, supply(beanName, definition));
+        }
+        return created;
+    }
+
+    // Run the suppliers of all pending singletons on the container's init executor.
+    // Suppliers take no dependencies from the container, so they can safely run concurrently;
+    // injection and @PostConstruct still happen afterwards on the calling thread.
+    private Map<String, Object> supplyInParallel(List<String> pending) {
+        Map<String, Future<Object>> futures = new LinkedHashMap<>();
+        ExecutorService executor = ContainerExecutors.newInitExecutor();
+        try {
+            for (var beanName : pending) {
+                var definition = beanDefinitions.get(beanName);
+                if (definition.getScope() == Scope.SINGLETON)
+                    futures.put(beanName, executor.submit(() -> supply(beanName, definition)));
+            }
+            Map<String, Object> created = new LinkedHashMap<>();
+            for (var entry : futures.entrySet())
+                created.put(entry.getKey(), entry.getValue().get());
+            return created;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw new RuntimeException("Failed to create component", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while creating components", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // Undo a failed refresh(): unpublish the pending beans and forget their definitions
+    private void rollback(List<String> pending) {
+        Set<Class<?>> classes = new HashSet<>();
+        for (var beanName : pending) {
+            BeanDefinition definition = beanDefinitions.remove(beanName);
+            Object bean = beans.remove(beanName);
+            proxyTargets.remove(beanName);
+            initTimes.remove(beanName);
+            if (definition == null) continue;
+            removeInterfaceNames(beanName, definition.getBeanClass());
+            classes.add(definition.getBeanClass());
+            if (definition.getQualifierName() != null && bean != null) qualifiedBeans.remove(definition.getQualifierName(), bean);
+        }
+        // keep the recorded dependencies of classes that still have beans
+        for (var definition : beanDefinitions.values()) classes.remove(definition.getBeanClass());
+        classDependencies.keySet().removeAll(classes);
+    }
+
+    private Object supply(String beanName, BeanDefinition definition) {
+        try {
+            long start = System.nanoTime();
+            Object instance = definition.getSupplier().get();
+            if (instance == null) throw new RuntimeException("Supplier returned null");
+            initTimes.merge(beanName, System.nanoTime() - start, Long::sum);
+            return instance;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to create component: " + beanName, e);
+        }
+    }
+
+    // Create batch singletons concurrently on refresh(), using virtual threads on Java 21+
+    public void setParallelInit(boolean parallelInit) {
+        this.parallelInit = parallelInit;
+    }
+
     private <T> T createInstance(Class<T> componentClass) throws Exception {
         // Get all constructors of the class
         Constructor<?>[] constructors = componentClass.getConstructors();
@@ -61,6 +259,8 @@ public class BeanFactory {
                 for (int i = 0; i < paramTypes.length; i++) {
                     // Inject dependencies into constructor parameters
                     params[i] = getComponent(paramTypes[i].getName());
+                    if (params[i] != null && !paramTypes[i].isInstance(params[i]))
+                        throw new RuntimeException(componentClass.getName() + ": " + notAssignable(paramTypes[i].getName(), paramTypes[i], params[i]));
                 }
                 // Create a new instance with the injected dependencies
                 return componentClass.cast(constructor.newInstance(params));
@@ -70,20 +270,42 @@ public class BeanFactory {
         return componentClass.getDeclaredConstructor().newInstance();
     }
 
+    // Look up a bean and check its type
+    public <T> T getComponent(String beanName, Class<T> type) {
+        Object component = getComponent(beanName);
+        if (component != null && !type.isInstance(component))
+            throw new RuntimeException(notAssignable(beanName, type, component));
+        return type.cast(component);
+    }
+
+    // Intercepted beans are JDK proxies, so they can only be handed out as one of their interfaces
+    private static String notAssignable(String beanName, Class<?> type, Object bean) {
+        if (Proxy.isProxyClass(bean.getClass()))
+            return "Intercepted bean " + beanName + " must be requested or injected by interface, not as " + type.getName();
+        return "Bean " + beanName + " is not a " + type.getName();
+    }
+
     public <T> T getComponent(String className) {
-        Object component = beans.get(className);
+        Object component = bean(className);
+        if (component == null && interfaceBeans.containsKey(className)) {
+            className = implementationOf(className);
+            component = bean(className);
+        }
 
         // If the component is of type Class, it means it's a PROTOTYPE component
         if (component instanceof Class) {
             try {
                 // Create a new instance of the prototype component
                 Class<?> componentClass = (Class<?>) component;
-                T instance = (T) createInstance(componentClass);
+                BeanDefinition definition = definition(className);
+                T instance = definition != null && definition.getSupplier() != null
+                        ? (T) definition.getSupplier().get()
+                        : (T) createInstance(componentClass);
 
                 // Inject dependencies and invoke @PostConstruct methods
                 injectComponentDependencies(instance);
                 invokePostConstructMethods(instance);
-                return (T) componentClass.cast(instance);
+                return (T) ProxyFactory.createProxy(componentClass.cast(instance));
             } catch (Exception e) {
                 throw new RuntimeException("Failed to create prototype component: " + className, e);
             }
@@ -94,6 +316,12 @@ public class BeanFactory {
     }
 
     private void injectComponentDependencies(Object component) {
+        recordComponentDependencies(component);
+        if (frozen == null) detectCircularDependencies(classDependencies);
+    }
+
+    // Inject the fields of a component and record what it depends on, without checking for cycles
+    private void recordComponentDependencies(Object component) {
         Class<?> componentClass = component.getClass();
         // Set to track dependencies of the component
         Set<Class<?>> dependencies = new LinkedHashSet<>();
@@ -108,9 +336,12 @@ public class BeanFactory {
 
                     // If the field has a qualifier, get the dependency by the qualifier value
                     // Otherwise, get the component by its class name
-                    if (qualifier != null) dependency = qualifiedBeans.get(qualifier.value());
+                    if (qualifier != null) dependency = qualifiedBean(qualifier.value());
                     else dependency = getComponent(field.getType().getName());
 
+                    if (dependency != null && !field.getType().isInstance(dependency))
+                        throw new RuntimeException(componentClass.getName() + "." + field.getName() + ": "
+                                + notAssignable(qualifier != null ? qualifier.value() : field.getType().getName(), field.getType(), dependency));
                     if (dependency != null) dependencies.add(field.getType());
 
                     field.set(component, dependency);
@@ -119,8 +350,7 @@ public class BeanFactory {
                 }
             } else if (field.isAnnotationPresent(Value.class)) {
                 Value valueAnnotation = field.getAnnotation(Value.class);
-                String key = valueAnnotation.value().replace("${", "").replace("}", "");
-                String value = properties.getProperty(key);
+                String value = properties.getProperty(propertyKey(valueAnnotation));
 
                 try {
                     field.setAccessible(true);
@@ -131,9 +361,8 @@ public class BeanFactory {
                 }
             }
         }
-        // Record the dependencies of the component class
-        classDependencies.put(componentClass, dependencies);
-        detectCircularDependencies();
+        // Record the dependencies of the component class, the graph is fixed once the registry is frozen
+        if (frozen == null) classDependencies.put(componentClass, dependencies);
     }
 
     private void invokePostConstructMethods(Object component) {
@@ -152,7 +381,12 @@ public class BeanFactory {
         }
     }
 
-    private Object convertValue(Class<?> type, String value) {
+    // Strip the ${...} placeholder syntax from a @Value expression
+    static String propertyKey(Value valueAnnotation) {
+        return valueAnnotation.value().replace("${", "").replace("}", "");
+    }
+
+    static Object convertValue(Class<?> type, String value) {
         if (type.equals(String.class)) {
             return value;
         } else if (type.equals(int.class) || type.equals(Integer.class)) {
@@ -166,33 +400,58 @@ public class BeanFactory {
     }
 
     public void injectDependencies() {
-        // iterate through all beans and inject their dependencies method and skip prototype classes
-        for (Object component : beans.values())
-            if (!(component instanceof Class)) injectComponentDependencies(component);
+        checkNotFrozen("injectDependencies");
+        // iterate through all beans and inject their dependencies method and skip prototype classes,
+        // the whole graph is checked for cycles once at the end
+        for (var entry : beans.entrySet())
+            if (!(entry.getValue() instanceof Class)) recordComponentDependencies(target(entry));
+        detectCircularDependencies(classDependencies);
     }
 
     public void initializePostConstructMethods() {
+        checkNotFrozen("initializePostConstructMethods");
         // iterate through all beans and call their PostConstruct method and skip prototype classes
-        for (Object component : beans.values())
-            if (!(component instanceof Class)) invokePostConstructMethods(component);
+        for (var entry : beans.entrySet())
+            if (!(entry.getValue() instanceof Class)) timedPostConstruct(entry.getKey(), target(entry));
+    }
+
+    // Wrap a new instance in a proxy if it uses interceptors, the instance itself is kept
+    // so dependencies and @PostConstruct still work on the real object
+    private Object intercept(String beanName, Object instance) {
+        Object bean = ProxyFactory.createProxy(instance);
+        if (bean != instance) proxyTargets.put(beanName, instance);
+        return bean;
+    }
+
+    private Object target(Map.Entry<String, Object> bean) {
+        return proxyTargets.getOrDefault(bean.getKey(), bean.getValue());
+    }
+
+    private void timedPostConstruct(String beanName, Object component) {
+        long start = System.nanoTime();
+        invokePostConstructMethods(component);
+        initTimes.merge(beanName, System.nanoTime() - start, Long::sum);
+        if (eventMulticaster != null && eventMulticaster.hasListeners(BeanInitializedEvent.class))
+            eventMulticaster.publishEvent(new BeanInitializedEvent(beanName, beans.get(beanName)));
     }
 
     // Method to detect circular dependencies in the entire dependency graph
-    private void detectCircularDependencies() {
+    private void detectCircularDependencies(Map<Class<?>, Set<Class<?>>> graph) {
         Set<Class<?>> visited = new HashSet<>();
         Set<Class<?>> inStack = new HashSet<>();
 
-        // Iterate over all classes in the classDependencies map
-        for (Class<?> clazz : classDependencies.keySet()) {
+        // Iterate over all classes in the dependency graph
+        for (Class<?> clazz : graph.keySet()) {
             // If the class hasn't been visited yet, check for cycles
             if (!visited.contains(clazz)) {
-                detectCycle(clazz, visited, inStack, new Stack<>());
+                detectCycle(graph, clazz, visited, inStack, new Stack<>());
             }
         }
     }
 
     // Recursive method to detect cycles in the dependency graph
-    private void detectCycle(Class<?> current, Set<Class<?>> visited, Set<Class<?>> inStack, Stack<Class<?>> path) {
+    private void detectCycle(Map<Class<?>, Set<Class<?>>> graph, Class<?> current, Set<Class<?>> visited,
+                             Set<Class<?>> inStack, Stack<Class<?>> path) {
         // If the current class is already in the stack, a cycle is detected
         if (inStack.contains(current)) throw new CircularDependencyException("Circular dependency detected: " + path);
 
@@ -204,17 +463,296 @@ public class BeanFactory {
         path.push(current);   // Add the class to the current path
 
         // Get the dependencies of the current class and recurse into them
-        Set<Class<?>> dependencies = classDependencies.getOrDefault(current, Collections.emptySet());
+        Set<Class<?>> dependencies = graph.getOrDefault(current, Collections.emptySet());
         for (Class<?> dependency : dependencies)
-            detectCycle(dependency, visited, inStack, path);
+            detectCycle(graph, dependency, visited, inStack, path);
 
         // After recursion, remove the class from the current path and the stack
         path.pop();
         inStack.remove(current);
     }
 
+    // Dependencies a class declares through @Autowired/@Inject fields and an @Inject constructor,
+    // read from metadata only so no instance is needed. Points are resolved like injection does it, by
+    // qualifier, by the bean named after the field type or by the intercepted bean implementing it; unresolved
+    // points are added to problems if given.
+    private Set<Class<?>> declaredDependencies(Class<?> componentClass, Map<String, Class<?>> qualifiedTypes,
+                                               Function<String, BeanDefinition> named,
+                                               Map<String, List<String>> interfaceBeans, List<String> problems) {
+        Set<Class<?>> dependencies = new LinkedHashSet<>();
+        for (var point : injectionPoints(componentClass)) {
+            Class<?> type;
+            if (point.qualifier() != null) {
+                type = qualifiedTypes.get(point.qualifier());
+                if (type == null && problems != null)
+                    problems.add(componentClass.getName() + "." + point.name() + ": no bean with qualifier '" + point.qualifier() + "'");
+            } else {
+                String typeName = point.type().getName();
+                BeanDefinition definition = named.apply(typeName);
+                List<String> implementations = interfaceBeans.getOrDefault(typeName, List.of());
+                if (definition == null && implementations.size() == 1) definition = named.apply(implementations.get(0));
+                type = definition == null ? null : definition.getBeanClass();
+                if (type == null && problems != null && implementations.size() > 1)
+                    problems.add(componentClass.getName() + "." + point.name() + ": " + ambiguous(typeName, implementations));
+                else if (type == null && problems != null)
+                    problems.add(componentClass.getName() + "." + point.name() + ": no bean named " + typeName
+                            + ", beans are injected by type only when registered under their class name");
+            }
+            if (type != null) dependencies.add(type);
+        }
+        return dependencies;
+    }
+
+    // The injection points of a class, computed once per class from its fields and @Inject constructor
+    List<InjectionPoint> injectionPoints(Class<?> componentClass) {
+        return injectionPoints.computeIfAbsent(componentClass, type -> {
+            List<InjectionPoint> points = new ArrayList<>();
+            for (var field : type.getDeclaredFields()) {
+                if (field.isAnnotationPresent(Autowired.class) || field.isAnnotationPresent(Inject.class)) {
+                    Qualifier qualifier = field.getAnnotation(Qualifier.class);
+                    points.add(new InjectionPoint(field.getType(), qualifier != null ? qualifier.value() : null, field.getName()));
+                }
+            }
+            for (var constructor : type.getConstructors())
+                if (constructor.isAnnotationPresent(Inject.class))
+                    for (var parameter : constructor.getParameters())
+                        points.add(new InjectionPoint(parameter.getType(), null, "constructor parameter " + parameter.getName()));
+            return points;
+        });
+    }
+
+    record InjectionPoint(Class<?> type, String qualifier, String name) {
+    }
+
+    // Build the bean dependency graph from the registered definitions, without creating any bean.
+    // Init times and requests are filled in for beans that have already been created or requested.
+    public DependencyGraph getDependencyGraph() {
+        Map<String, BeanDefinition> beanDefinitions = this.beanDefinitions;
+        Map<String, Long> initTimes = this.initTimes;
+        FrozenRegistry registry = frozen;
+        if (registry != null) return frozenDependencyGraph(registry);
+        return new DependencyGraph(declaredEdges(beanDefinitions), new HashMap<>(initTimes), new HashSet<>(requestedBeans));
+    }
+
+    // Dependencies of every defined bean by name, read from the injection points of its class.
+    // Points are resolved like injection does it: by qualifier, or by the bean named after the field type.
+    private Map<String, Set<String>> declaredEdges(Map<String, BeanDefinition> beanDefinitions) {
+        Map<String, String> byQualifier = new HashMap<>();
+        for (var entry : beanDefinitions.entrySet()) {
+            var definition = entry.getValue();
+            if (definition.getQualifierName() != null) byQualifier.put(definition.getQualifierName(), entry.getKey());
+        }
+
+        Map<String, Set<String>> edges = new TreeMap<>();
+        for (var entry : beanDefinitions.entrySet()) {
+            Set<String> dependencies = new LinkedHashSet<>();
+            for (var point : injectionPoints(entry.getValue().getBeanClass())) {
+                String dependency;
+                if (point.qualifier() != null) dependency = byQualifier.get(point.qualifier());
+                else if (beanDefinitions.containsKey(point.type().getName())) dependency = point.type().getName();
+                else dependency = onlyImplementation(point.type().getName());
+                if (dependency != null) dependencies.add(dependency);
+            }
+            edges.put(entry.getKey(), dependencies);
+        }
+        return edges;
+    }
+
+    // After freeze() the graph comes from the CSR adjacency, no class is inspected again
+    private DependencyGraph frozenDependencyGraph(FrozenRegistry registry) {
+        Map<String, Set<String>> edges = new TreeMap<>();
+        Map<String, Long> times = new HashMap<>();
+        for (int id = 0; id < registry.size(); id++) {
+            Set<String> dependencies = new LinkedHashSet<>();
+            for (int i = 0; i < registry.dependencyCount(id); i++)
+                dependencies.add(registry.name(registry.dependency(id, i)));
+            edges.put(registry.name(id), dependencies);
+            times.put(registry.name(id), registry.initNanos(id));
+        }
+        return new DependencyGraph(edges, times, new HashSet<>(requestedBeans));
+    }
+
+    // Register a definition without creating the bean, used to validate a container ahead of time
+    public void registerDefinition(String beanName, BeanDefinition beanDefinition) {
+        checkNotFrozen(beanName);
+        beanDefinitions.put(beanName, beanDefinition);
+        addInterfaceNames(interfaceBeans, beanName, beanDefinition.getBeanClass());
+    }
+
+    // Intercepted beans are handed out as proxies of their interfaces, so each interface name leads to them as well
+    private static void addInterfaceNames(Map<String, List<String>> interfaceBeans, String beanName, Class<?> beanClass) {
+        for (var type : ProxyFactory.getProxyInterfaces(beanClass))
+            interfaceBeans.merge(type.getName(), List.of(beanName), (names, added) -> {
+                List<String> all = new ArrayList<>(names);
+                all.addAll(added);
+                return List.copyOf(all);
+            });
+    }
+
+    private void removeInterfaceNames(String beanName, Class<?> beanClass) {
+        for (var type : ProxyFactory.getProxyInterfaces(beanClass))
+            interfaceBeans.computeIfPresent(type.getName(), (name, names) -> {
+                List<String> rest = new ArrayList<>(names);
+                rest.remove(beanName);
+                return rest.isEmpty() ? null : List.copyOf(rest);
+            });
+    }
+
+    // The intercepted bean implementing an interface, when several do the injection point must pick one by qualifier
+    private String implementationOf(String interfaceName) {
+        List<String> implementations = interfaceBeans.getOrDefault(interfaceName, List.of());
+        if (implementations.size() > 1)
+            throw new RuntimeException("Cannot resolve " + interfaceName + ": " + ambiguous(interfaceName, implementations));
+        return implementations.isEmpty() ? null : implementations.get(0);
+    }
+
+    private String onlyImplementation(String interfaceName) {
+        List<String> implementations = interfaceBeans.getOrDefault(interfaceName, List.of());
+        return implementations.size() == 1 ? implementations.get(0) : null;
+    }
+
+    static String ambiguous(String interfaceName, Collection<String> implementations) {
+        return "intercepted beans " + String.join(", ", new TreeSet<>(implementations)) + " all implement "
+                + interfaceName + ", pick one with @Qualifier";
+    }
+
+    // Register an existing object as a singleton bean of the given type
+    public <T> void registerSingleton(Class<T> type, T instance) {
+        checkNotFrozen(type.getName());
+        beanDefinitions.put(type.getName(), new BeanDefinition(type, Scope.SINGLETON, null, () -> instance));
+        beans.put(type.getName(), instance);
+    }
+
+    // Event bus used for lifecycle events and for listeners of beans created on refresh()
+    public void setEventMulticaster(ApplicationEventMulticaster eventMulticaster) {
+        this.eventMulticaster = eventMulticaster;
+    }
+
+    // The real instance behind a bean, which differs from the bean itself for intercepted components
+    Object getTarget(String beanName) {
+        Map<String, Object> beans = this.beans, proxyTargets = this.proxyTargets;
+        FrozenRegistry registry = frozen;
+        if (registry != null) {
+            int id = registry.idOf(beanName);
+            return id < 0 ? null : registry.target(id);
+        }
+        Object bean = beans.get(beanName);
+        return bean == null ? null : proxyTargets.getOrDefault(beanName, bean);
+    }
+
+    // Check every registered definition against the metadata and the properties, without creating
+    // any bean, and return all problems found
+    public List<String> validate() {
+        return new ContainerValidator(definitions(), properties, this::injectionPoints).validate();
+    }
+
+    // Remember that a bean was requested from outside the container
+    public void recordRequest(String beanName) {
+        if (!requestedBeans.contains(beanName)) requestedBeans.add(beanName);
+    }
+
     public Map<Class<?>, Set<Class<?>>> getClassDependencies() {
-        return classDependencies;
+        Map<Class<?>, Set<Class<?>>> classDependencies = this.classDependencies;
+        FrozenRegistry registry = frozen;
+        if (registry == null) return classDependencies;
+
+        // rebuilt from the compact graph, only meant for inspection
+        Map<Class<?>, Set<Class<?>>> dependencies = new HashMap<>();
+        for (int id = 0; id < registry.size(); id++) {
+            if (registry.definition(id) == null) continue;
+            Set<Class<?>> classes = dependencies.computeIfAbsent(registry.definition(id).getBeanClass(), type -> new LinkedHashSet<>());
+            for (int i = 0; i < registry.dependencyCount(id); i++) {
+                BeanDefinition dependency = registry.definition(registry.dependency(id, i));
+                if (dependency != null) classes.add(dependency.getBeanClass());
+            }
+        }
+        return dependencies;
+    }
+
+    // Compact the registry once startup is done: beans get integer ids, definitions and instances move to
+    // arrays, the dependency graph to CSR form, and the startup-only structures (pending batches,
+    // injection point cache, per-class dependency sets) are dropped. No beans can be registered afterwards.
+    // Lookups may run concurrently: the frozen registry is published before the maps are dropped, and readers
+    // load the map first and check frozen after it, so a reader that sees a dropped map also sees the registry.
+    public RegistryFootprint freeze() {
+        lock.lock();
+        try {
+            if (frozen != null) throw new RuntimeException("BeanFactory is already frozen");
+            if (!pendingBeans.isEmpty()) throw new RuntimeException("BeanFactory has beans waiting for refresh()");
+
+            long before = registryBytes();
+            FrozenRegistry registry = new FrozenRegistry(beanDefinitions, beans, proxyTargets, qualifiedBeans, declaredEdges(beanDefinitions), initTimes);
+            frozen = registry;
+            classDependencies = Map.of();
+            beanDefinitions = Map.of();
+            qualifiedBeans = Map.of();
+            beans = Map.of();
+            proxyTargets = Map.of();
+            pendingBeans = List.of();
+            injectionPoints = new ConcurrentHashMap<>();
+            initTimes = Map.of();
+
+            RegistryFootprint footprint = new RegistryFootprint(registry.size(), before, registry.estimateBytes());
+            LogUtils.event(footprint::toString);
+            return footprint;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Estimated heap of the mutable registry, see RegistryFootprint
+    private long registryBytes() {
+        long bytes = RegistryFootprint.concurrentHashMap(classDependencies)
+                + RegistryFootprint.concurrentHashMap(beanDefinitions)
+                + RegistryFootprint.concurrentHashMap(qualifiedBeans)
+                + RegistryFootprint.concurrentHashMap(beans)
+                + RegistryFootprint.concurrentHashMap(proxyTargets)
+                + RegistryFootprint.arrayList(pendingBeans)
+                + RegistryFootprint.concurrentHashMap(injectionPoints)
+                + RegistryFootprint.concurrentHashMap(initTimes)
+                + RegistryFootprint.boxedLongs(initTimes.size());
+        for (var dependencies : classDependencies.values()) bytes += RegistryFootprint.linkedHashSet(dependencies);
+        for (var points : injectionPoints.values()) bytes += RegistryFootprint.arrayList(points);
+        return bytes;
+    }
+
+    private void checkNotFrozen(String beanName) {
+        if (frozen != null) throw new RuntimeException("BeanFactory is frozen, cannot register or create: " + beanName);
+    }
+
+    private Object bean(String beanName) {
+        Map<String, Object> beans = this.beans;
+        FrozenRegistry registry = frozen;
+        if (registry == null) return beans.get(beanName);
+        int id = registry.idOf(beanName);
+        return id < 0 ? null : registry.bean(id);
+    }
+
+    private BeanDefinition definition(String beanName) {
+        Map<String, BeanDefinition> beanDefinitions = this.beanDefinitions;
+        FrozenRegistry registry = frozen;
+        if (registry == null) return beanDefinitions.get(beanName);
+        int id = registry.idOf(beanName);
+        return id < 0 ? null : registry.definition(id);
+    }
+
+    private Object qualifiedBean(String qualifier) {
+        Map<String, Object> qualifiedBeans = this.qualifiedBeans;
+        FrozenRegistry registry = frozen;
+        if (registry == null) return qualifiedBeans.get(qualifier);
+        int id = registry.idOfQualifier(qualifier);
+        return id < 0 ? null : registry.bean(id);
+    }
+
+    // All definitions by bean name, rebuilt from the arrays once frozen
+    private Map<String, BeanDefinition> definitions() {
+        Map<String, BeanDefinition> beanDefinitions = this.beanDefinitions;
+        FrozenRegistry registry = frozen;
+        if (registry == null) return beanDefinitions;
+        Map<String, BeanDefinition> definitions = new LinkedHashMap<>();
+        for (int id = 0; id < registry.size(); id++)
+            if (registry.definition(id) != null) definitions.put(registry.name(id), registry.definition(id));
+        return definitions;
     }
 
     public Properties getProperties() {
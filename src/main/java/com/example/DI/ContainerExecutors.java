@@ -0,0 +1,24 @@
+package com.example.DI;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Executors used by the container for parallel bean initialization.
+ * On Java 21+ the multi-release jar replaces this class with a virtual-thread based version
+ * (see src/main/java21), so the container never pins carrier threads while creating beans.
+ */
+final class ContainerExecutors {
+
+    // Prevent instantiation
+    private ContainerExecutors() {
+    }
+
+    static ExecutorService newInitExecutor() {
+        return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+            Thread thread = new Thread(runnable, "bean-init");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
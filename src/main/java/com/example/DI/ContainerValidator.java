@@ -0,0 +1,172 @@
+package com.example.DI;
+
+import com.example.annotations.Inject;
+import com.example.annotations.PostConstruct;
+import com.example.annotations.Value;
+import com.example.aop.ProxyFactory;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * ContainerValidator checks a set of bean definitions ahead of time, using only class metadata and the
+ * loaded properties, so no bean is ever created. Instead of stopping at the first error it collects every
+ * problem: unresolved dependencies, unknown qualifiers, missing or unconvertible @Value properties,
+ * beans that cannot be constructed, invalid @PostConstruct methods and dependency cycles.
+ * <p>
+ * The main method runs the validation for a base package and exits with status 1 when problems are
+ * found, so it can be wired into the build (see the validate-container profile in pom.xml).
+ */
+public class ContainerValidator {
+    private final Map<String, BeanDefinition> beanDefinitions;
+    private final Properties properties;
+    private final Function<Class<?>, List<BeanFactory.InjectionPoint>> injectionPoints;
+
+    ContainerValidator(Map<String, BeanDefinition> beanDefinitions, Properties properties,
+                       Function<Class<?>, List<BeanFactory.InjectionPoint>> injectionPoints) {
+        this.beanDefinitions = beanDefinitions;
+        this.properties = properties;
+        this.injectionPoints = injectionPoints;
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length != 1) {
+            System.err.println("Usage: ContainerValidator <basePackage>");
+            System.exit(2);
+        }
+        List<String> problems = ApplicationContext.validate(args[0]);
+        if (problems.isEmpty()) {
+            System.out.println("Container validation of " + args[0] + " passed.");
+            return;
+        }
+        System.err.println("Container validation of " + args[0] + " found " + problems.size() + " problem(s):");
+        for (var problem : problems) System.err.println("  - " + problem);
+        System.exit(1);
+    }
+
+    public List<String> validate() {
+        List<String> problems = new ArrayList<>();
+        Map<String, String> byQualifier = new HashMap<>();
+        Map<String, List<String>> byClass = new HashMap<>();
+        Map<String, List<String>> byInterface = new HashMap<>(); // intercepted beans, see BeanFactory.getComponent
+
+        for (var entry : beanDefinitions.entrySet()) {
+            var definition = entry.getValue();
+            var qualifier = definition.getQualifierName();
+            if (qualifier != null && byQualifier.putIfAbsent(qualifier, entry.getKey()) != null)
+                problems.add("Qualifier '" + qualifier + "' is used by both " + byQualifier.get(qualifier) + " and " + entry.getKey());
+            byClass.computeIfAbsent(definition.getBeanClass().getName(), name -> new ArrayList<>()).add(entry.getKey());
+            for (var type : ProxyFactory.getProxyInterfaces(definition.getBeanClass()))
+                byInterface.computeIfAbsent(type.getName(), name -> new ArrayList<>()).add(entry.getKey());
+        }
+
+        Map<String, Set<String>> graph = new LinkedHashMap<>();
+        for (var entry : beanDefinitions.entrySet()) {
+            var beanName = entry.getKey();
+            var beanClass = entry.getValue().getBeanClass();
+            Set<String> dependencies = new LinkedHashSet<>();
+
+            for (var point : injectionPoints.apply(beanClass)) {
+                String dependency;
+                if (point.qualifier() != null) {
+                    dependency = byQualifier.get(point.qualifier());
+                    if (dependency == null)
+                        problems.add(beanName + "." + point.name() + ": no bean with qualifier '" + point.qualifier() + "'");
+                } else {
+                    // injection by type finds the bean registered under the class name,
+                    // or the only intercepted bean implementing the interface
+                    String typeName = point.type().getName();
+                    List<String> implementations = byInterface.getOrDefault(typeName, List.of());
+                    if (beanDefinitions.containsKey(typeName)) dependency = typeName;
+                    else dependency = implementations.size() == 1 ? implementations.get(0) : null;
+                    if (dependency == null && implementations.size() > 1)
+                        problems.add(beanName + "." + point.name() + ": " + BeanFactory.ambiguous(typeName, implementations));
+                    else if (dependency == null && byClass.containsKey(typeName))
+                        problems.add(beanName + "." + point.name() + ": no bean of type " + typeName
+                                + " registered under its class name (found " + String.join(", ", new TreeSet<>(byClass.get(typeName))) + ")");
+                    else if (dependency == null)
+                        problems.add(beanName + "." + point.name() + ": no bean of type " + typeName);
+                }
+                if (dependency != null) {
+                    // intercepted beans are JDK proxies, only their interfaces can be injected
+                    Class<?> dependencyClass = beanDefinitions.get(dependency).getBeanClass();
+                    if (!point.type().isInterface() && ProxyFactory.isIntercepted(dependencyClass))
+                        problems.add(beanName + "." + point.name() + ": intercepted bean " + dependency
+                                + " must be injected by interface, not as " + point.type().getName());
+                    dependencies.add(dependency);
+                }
+            }
+            graph.put(beanName, dependencies);
+
+            if (!entry.getValue().isSupplied()) checkConstructor(beanName, beanClass, problems);
+            checkValues(beanName, beanClass, problems);
+            checkPostConstruct(beanName, beanClass, problems);
+        }
+
+        findCycles(graph, problems);
+        return problems;
+    }
+
+    // The container needs either an @Inject constructor or a no-arg constructor
+    private void checkConstructor(String beanName, Class<?> beanClass, List<String> problems) {
+        for (var constructor : beanClass.getConstructors())
+            if (constructor.isAnnotationPresent(Inject.class)) return;
+        try {
+            beanClass.getDeclaredConstructor();
+        } catch (NoSuchMethodException e) {
+            problems.add(beanName + ": no @Inject constructor and no no-arg constructor");
+        }
+    }
+
+    private void checkValues(String beanName, Class<?> beanClass, List<String> problems) {
+        for (var field : beanClass.getDeclaredFields()) {
+            Value valueAnnotation = field.getAnnotation(Value.class);
+            if (valueAnnotation == null) continue;
+
+            String key = BeanFactory.propertyKey(valueAnnotation);
+            String value = properties.getProperty(key);
+            if (value == null) {
+                problems.add(beanName + "." + field.getName() + ": missing property '" + key + "'");
+                continue;
+            }
+            try {
+                BeanFactory.convertValue(field.getType(), value);
+            } catch (NumberFormatException e) {
+                problems.add(beanName + "." + field.getName() + ": property '" + key + "' value '" + value
+                        + "' is not a valid " + field.getType().getSimpleName());
+            } catch (RuntimeException e) {
+                problems.add(beanName + "." + field.getName() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private void checkPostConstruct(String beanName, Class<?> beanClass, List<String> problems) {
+        for (var method : beanClass.getDeclaredMethods())
+            if (method.isAnnotationPresent(PostConstruct.class) && method.getParameterCount() > 0)
+                problems.add(beanName + "." + method.getName() + ": @PostConstruct methods must not take parameters");
+    }
+
+    // Report every cycle reachable in the graph, each found through a back edge of a depth-first search
+    private void findCycles(Map<String, Set<String>> graph, List<String> problems) {
+        Set<String> visited = new HashSet<>();
+        for (var bean : graph.keySet())
+            if (!visited.contains(bean)) findCycles(graph, bean, visited, new LinkedHashSet<>(), problems);
+    }
+
+    private void findCycles(Map<String, Set<String>> graph, String current, Set<String> visited,
+                            LinkedHashSet<String> path, List<String> problems) {
+        visited.add(current);
+        path.add(current);
+        for (var dependency : graph.getOrDefault(current, Collections.emptySet())) {
+            if (path.contains(dependency)) {
+                List<String> cycle = new ArrayList<>(path);
+                cycle = new ArrayList<>(cycle.subList(cycle.indexOf(dependency), cycle.size()));
+                cycle.add(dependency);
+                problems.add("Circular dependency detected: " + String.join(" -> ", cycle));
+            } else if (!visited.contains(dependency)) {
+                findCycles(graph, dependency, visited, path, problems);
+            }
+        }
+        path.remove(current);
+    }
+}
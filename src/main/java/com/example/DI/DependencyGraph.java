@@ -0,0 +1,199 @@
+package com.example.DI;
+
+import exceptions.CircularDependencyException;
+
+import java.util.*;
+
+/**
+ * DependencyGraph is a snapshot of the bean graph built from bean definitions, so it is available before
+ * any bean is created. Edges point from a bean to the beans it depends on.
+ * It can be exported to DOT or JSON and answers the usual startup tuning questions:
+ * the critical initialization path, fan-in/fan-out hotspots, beans nobody requests and
+ * which beans could be initialized lazily or in parallel.
+ */
+public class DependencyGraph {
+    private final Map<String, Set<String>> dependencies;
+    private final Map<String, Set<String>> dependents = new TreeMap<>();
+    private final Map<String, Long> initTimes; // nanoseconds, only for beans that have been created
+    private final Set<String> requested;
+
+    DependencyGraph(Map<String, Set<String>> dependencies, Map<String, Long> initTimes, Set<String> requested) {
+        this.dependencies = dependencies;
+        this.initTimes = initTimes;
+        this.requested = requested;
+        for (var bean : dependencies.keySet()) dependents.put(bean, new TreeSet<>());
+        for (var entry : dependencies.entrySet())
+            for (var dependency : entry.getValue())
+                dependents.get(dependency).add(entry.getKey());
+    }
+
+    public Set<String> getBeans() {
+        return Collections.unmodifiableSet(dependencies.keySet());
+    }
+
+    public Set<String> getDependencies(String bean) {
+        return Collections.unmodifiableSet(dependencies.getOrDefault(bean, Collections.emptySet()));
+    }
+
+    public Set<String> getDependents(String bean) {
+        return Collections.unmodifiableSet(dependents.getOrDefault(bean, Collections.emptySet()));
+    }
+
+    public int getFanIn(String bean) {
+        return getDependents(bean).size();
+    }
+
+    public int getFanOut(String bean) {
+        return getDependencies(bean).size();
+    }
+
+    // Time spent creating and initializing a bean in nanoseconds, 0 if it hasn't been created
+    public long getInitTime(String bean) {
+        return initTimes.getOrDefault(bean, 0L);
+    }
+
+    // The beans with the highest fan-in + fan-out, most connected first
+    public List<String> getHotspots(int limit) {
+        List<String> beans = new ArrayList<>(dependencies.keySet());
+        beans.sort(Comparator.comparingInt((String bean) -> getFanIn(bean) + getFanOut(bean)).reversed());
+        return beans.subList(0, Math.min(limit, beans.size()));
+    }
+
+    // The chain of dependencies with the largest total init time, starting from the bean that
+    // has to wait longest. Beans that haven't been created count as 0.
+    public List<String> getCriticalPath() {
+        Map<String, Long> cost = new HashMap<>();
+        String start = null;
+        long longest = -1;
+        for (var bean : dependencies.keySet()) {
+            long total = pathCost(bean, cost, new HashSet<>());
+            if (total > longest) {
+                longest = total;
+                start = bean;
+            }
+        }
+        List<String> path = new ArrayList<>();
+        for (String current = start; current != null; ) {
+            path.add(current);
+            String next = null;
+            for (var dependency : getDependencies(current))
+                if (next == null || cost.get(dependency) > cost.get(next)) next = dependency;
+            current = next;
+        }
+        return path;
+    }
+
+    private long pathCost(String bean, Map<String, Long> cost, Set<String> inStack) {
+        Long known = cost.get(bean);
+        if (known != null) return known;
+        if (!inStack.add(bean)) throw new CircularDependencyException("Circular dependency detected: " + inStack);
+
+        long longest = 0;
+        for (var dependency : getDependencies(bean))
+            longest = Math.max(longest, pathCost(dependency, cost, inStack));
+        inStack.remove(bean);
+
+        long total = getInitTime(bean) + longest;
+        cost.put(bean, total);
+        return total;
+    }
+
+    // Beans grouped by depth: every bean only depends on beans of earlier levels,
+    // so the beans of one level can be initialized in parallel
+    public List<Set<String>> getLevels() {
+        Map<String, Integer> depth = new HashMap<>();
+        List<Set<String>> levels = new ArrayList<>();
+        for (var bean : dependencies.keySet()) {
+            int level = depth(bean, depth, new HashSet<>());
+            while (levels.size() <= level) levels.add(new TreeSet<>());
+            levels.get(level).add(bean);
+        }
+        return levels;
+    }
+
+    private int depth(String bean, Map<String, Integer> depth, Set<String> inStack) {
+        Integer known = depth.get(bean);
+        if (known != null) return known;
+        if (!inStack.add(bean)) throw new CircularDependencyException("Circular dependency detected: " + inStack);
+
+        int level = 0;
+        for (var dependency : getDependencies(bean))
+            level = Math.max(level, depth(dependency, depth, inStack) + 1);
+        inStack.remove(bean);
+
+        depth.put(bean, level);
+        return level;
+    }
+
+    // Levels with more than one bean, the candidates for parallel initialization
+    public List<Set<String>> getParallelCandidates() {
+        List<Set<String>> candidates = new ArrayList<>();
+        for (var level : getLevels())
+            if (level.size() > 1) candidates.add(level);
+        return candidates;
+    }
+
+    // Beans that were never requested through the ApplicationContext
+    public Set<String> getNeverRequested() {
+        Set<String> beans = new TreeSet<>(dependencies.keySet());
+        beans.removeAll(requested);
+        return beans;
+    }
+
+    // Beans nobody requests and nobody depends on, they don't need to be created at startup
+    public Set<String> getLazyCandidates() {
+        Set<String> beans = getNeverRequested();
+        beans.removeIf(bean -> getFanIn(bean) > 0);
+        return beans;
+    }
+
+    // Graphviz export, node labels show the init time in milliseconds
+    public String toDot() {
+        StringBuilder dot = new StringBuilder("digraph beans {\n");
+        for (var bean : dependencies.keySet())
+            dot.append("  \"").append(bean).append("\" [label=\"").append(bean)
+                    .append("\\n").append(millis(bean)).append(" ms\"];\n");
+        for (var entry : dependencies.entrySet())
+            for (var dependency : entry.getValue())
+                dot.append("  \"").append(entry.getKey()).append("\" -> \"").append(dependency).append("\";\n");
+        return dot.append("}\n").toString();
+    }
+
+    public String toJson() {
+        StringBuilder json = new StringBuilder("{\n  \"beans\": [");
+        String separator = "\n";
+        for (var bean : dependencies.keySet()) {
+            json.append(separator).append("    {\"name\": ").append(quote(bean))
+                    .append(", \"initMillis\": ").append(millis(bean))
+                    .append(", \"fanIn\": ").append(getFanIn(bean))
+                    .append(", \"fanOut\": ").append(getFanOut(bean))
+                    .append(", \"requested\": ").append(requested.contains(bean))
+                    .append(", \"dependencies\": ").append(quote(getDependencies(bean)))
+                    .append('}');
+            separator = ",\n";
+        }
+        json.append("\n  ],\n  \"criticalPath\": ").append(quote(getCriticalPath()));
+        json.append(",\n  \"lazyCandidates\": ").append(quote(getLazyCandidates()));
+        json.append(",\n  \"levels\": [");
+        separator = "";
+        for (var level : getLevels()) {
+            json.append(separator).append(quote(level));
+            separator = ", ";
+        }
+        return json.append("]\n}\n").toString();
+    }
+
+    private String millis(String bean) {
+        return String.format(Locale.ROOT, "%.3f", getInitTime(bean) / 1_000_000.0);
+    }
+
+    private static String quote(Collection<String> values) {
+        StringJoiner joiner = new StringJoiner(", ", "[", "]");
+        for (var value : values) joiner.add(quote(value));
+        return joiner.toString();
+    }
+
+    private static String quote(String value) {
+        return '"' + value.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+    }
+}
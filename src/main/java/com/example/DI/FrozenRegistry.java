@@ -0,0 +1,154 @@
+package com.example.DI;
+
+import com.example.enums.Scope;
+
+import java.util.*;
+
+/**
+ * FrozenRegistry is the read-only form of the BeanFactory registry after BeanFactory.freeze().
+ * Every bean gets an integer id and all per-bean data lives in arrays indexed by that id:
+ * names are found through an open-addressing table of ids, the dependency graph is stored in
+ * compressed sparse row form (the dependencies of bean i are dependencyIds[dependencyOffsets[i]
+ * .. dependencyOffsets[i + 1]]) and qualifiers are interned and kept sorted for binary search.
+ */
+final class FrozenRegistry {
+    private final String[] names;
+    private final int[] slots;                  // id + 1 of the bean whose name hashes there, 0 if empty
+    private final BeanDefinition[] definitions;
+    private final Object[] beans;               // singleton (or its proxy), or the bean class for prototypes
+    private final Object[] targets;             // real instance behind a proxy, null if no bean is proxied
+    private final long[] initNanos;
+    private final int[] dependencyOffsets;
+    private final int[] dependencyIds;
+    private final String[] qualifiers;          // sorted
+    private final int[] qualifiedIds;           // bean id of qualifiers[i]
+
+    FrozenRegistry(Map<String, BeanDefinition> beanDefinitions, Map<String, Object> beanInstances,
+                   Map<String, Object> proxyTargets, Map<String, Object> qualifiedBeans,
+                   Map<String, Set<String>> dependencies, Map<String, Long> initTimes) {
+        Set<String> allNames = new LinkedHashSet<>(beanDefinitions.keySet());
+        allNames.addAll(beanInstances.keySet());
+        int count = allNames.size();
+
+        names = allNames.toArray(new String[0]);
+        slots = new int[tableSize(count)];
+        definitions = new BeanDefinition[count];
+        beans = new Object[count];
+        targets = proxyTargets.isEmpty() ? null : new Object[count];
+        initNanos = new long[count];
+        for (int id = 0; id < count; id++) {
+            String name = names[id];
+            insert(name, id);
+            definitions[id] = compact(beanDefinitions.get(name));
+            beans[id] = beanInstances.get(name);
+            if (targets != null) targets[id] = proxyTargets.get(name);
+            initNanos[id] = initTimes.getOrDefault(name, 0L);
+        }
+
+        dependencyOffsets = new int[count + 1];
+        int[] edges = new int[16];
+        int edgeCount = 0;
+        for (int id = 0; id < count; id++) {
+            dependencyOffsets[id] = edgeCount;
+            for (var dependency : dependencies.getOrDefault(names[id], Collections.emptySet())) {
+                int dependencyId = idOf(dependency);
+                if (dependencyId < 0) continue;
+                if (edgeCount == edges.length) edges = Arrays.copyOf(edges, edges.length * 2);
+                edges[edgeCount++] = dependencyId;
+            }
+        }
+        dependencyOffsets[count] = edgeCount;
+        dependencyIds = Arrays.copyOf(edges, edgeCount);
+
+        // Keep a qualifier only if it resolves to one of the registered beans
+        TreeMap<String, Integer> qualified = new TreeMap<>();
+        for (int id = 0; id < count; id++) {
+            String qualifier = definitions[id] == null ? null : definitions[id].getQualifierName();
+            if (qualifier != null && qualifiedBeans.get(qualifier) == beans[id]) qualified.putIfAbsent(qualifier.intern(), id);
+        }
+        qualifiers = qualified.keySet().toArray(new String[0]);
+        qualifiedIds = new int[qualifiers.length];
+        int i = 0;
+        for (int id : qualified.values()) qualifiedIds[i++] = id;
+    }
+
+    // Singletons are created already, only prototypes still need their supplier
+    private static BeanDefinition compact(BeanDefinition definition) {
+        return definition == null || definition.getScope() == Scope.PROTOTYPE ? definition : definition.withoutSupplier();
+    }
+
+    int size() {
+        return names.length;
+    }
+
+    // Id of the bean with the given name, or -1
+    int idOf(String name) {
+        int mask = slots.length - 1;
+        for (int slot = spread(name.hashCode()) & mask; slots[slot] != 0; slot = (slot + 1) & mask)
+            if (names[slots[slot] - 1].equals(name)) return slots[slot] - 1;
+        return -1;
+    }
+
+    // Id of the bean with the given qualifier, or -1
+    int idOfQualifier(String qualifier) {
+        int index = Arrays.binarySearch(qualifiers, qualifier);
+        return index < 0 ? -1 : qualifiedIds[index];
+    }
+
+    String name(int id) {
+        return names[id];
+    }
+
+    BeanDefinition definition(int id) {
+        return definitions[id];
+    }
+
+    Object bean(int id) {
+        return beans[id];
+    }
+
+    Object target(int id) {
+        Object target = targets == null ? null : targets[id];
+        return target != null ? target : beans[id];
+    }
+
+    long initNanos(int id) {
+        return initNanos[id];
+    }
+
+    int dependencyCount(int id) {
+        return dependencyOffsets[id + 1] - dependencyOffsets[id];
+    }
+
+    int dependency(int id, int index) {
+        return dependencyIds[dependencyOffsets[id] + index];
+    }
+
+    // Approximate heap used by the arrays above, see RegistryFootprint
+    long estimateBytes() {
+        int referenceArrays = targets == null ? 3 : 4; // names, definitions, beans and maybe targets
+        return referenceArrays * RegistryFootprint.referenceArray(names.length)
+                + RegistryFootprint.intArray(slots.length)
+                + RegistryFootprint.longArray(initNanos.length)
+                + RegistryFootprint.intArray(dependencyOffsets.length)
+                + RegistryFootprint.intArray(dependencyIds.length)
+                + RegistryFootprint.referenceArray(qualifiers.length)
+                + RegistryFootprint.intArray(qualifiedIds.length);
+    }
+
+    private void insert(String name, int id) {
+        int mask = slots.length - 1;
+        int slot = spread(name.hashCode()) & mask;
+        while (slots[slot] != 0) slot = (slot + 1) & mask;
+        slots[slot] = id + 1;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    // Power of two with a load factor of at most 0.5
+    private static int tableSize(int count) {
+        return Integer.highestOneBit(Math.max(2, count) * 2 - 1) << 1;
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.DI;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * RegistryFootprint estimates the heap used by the BeanFactory registry structures before and after
+ * BeanFactory.freeze(). Only the containers are counted (maps, sets, arrays and their entries), not the
+ * beans, definitions or name strings, which are shared by both forms. Sizes assume a 64-bit JVM with
+ * compressed oops, so the numbers are estimates meant for comparison, not exact measurements.
+ */
+public class RegistryFootprint {
+    private static final int ARRAY_HEADER = 16;
+    private static final int CONCURRENT_HASH_MAP = 64;
+    private static final int CONCURRENT_HASH_MAP_NODE = 32;
+    private static final int HASH_SET = 16 + 56;            // HashSet wrapping a LinkedHashMap
+    private static final int LINKED_HASH_MAP_ENTRY = 40;
+    private static final int ARRAY_LIST = 24;
+    private static final int BOXED_LONG = 16;
+
+    private final int beanCount;
+    private final long bytesBefore;
+    private final long bytesAfter;
+
+    RegistryFootprint(int beanCount, long bytesBefore, long bytesAfter) {
+        this.beanCount = beanCount;
+        this.bytesBefore = bytesBefore;
+        this.bytesAfter = bytesAfter;
+    }
+
+    public int getBeanCount() {
+        return beanCount;
+    }
+
+    public long getBytesBefore() {
+        return bytesBefore;
+    }
+
+    public long getBytesAfter() {
+        return bytesAfter;
+    }
+
+    @Override
+    public String toString() {
+        return "bean registry: " + beanCount + " beans, ~" + bytesBefore / 1024 + " KB before freeze, ~"
+                + bytesAfter / 1024 + " KB after (estimated)";
+    }
+
+    static long concurrentHashMap(Map<?, ?> map) {
+        return CONCURRENT_HASH_MAP + referenceArray(tableLength(map.size(), 0.75)) + (long) CONCURRENT_HASH_MAP_NODE * map.size();
+    }
+
+    static long linkedHashSet(Set<?> set) {
+        return HASH_SET + referenceArray(tableLength(set.size(), 0.75)) + (long) LINKED_HASH_MAP_ENTRY * set.size();
+    }
+
+    static long arrayList(Collection<?> list) {
+        return ARRAY_LIST + referenceArray(list.size());
+    }
+
+    static long boxedLongs(int count) {
+        return (long) BOXED_LONG * count;
+    }
+
+    static long referenceArray(int length) {
+        return align(ARRAY_HEADER + 4L * length);
+    }
+
+    static long intArray(int length) {
+        return align(ARRAY_HEADER + 4L * length);
+    }
+
+    static long longArray(int length) {
+        return align(ARRAY_HEADER + 8L * length);
+    }
+
+    private static int tableLength(int size, double loadFactor) {
+        return size == 0 ? 0 : Integer.highestOneBit((int) Math.ceil(size / loadFactor) * 2 - 1);
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.DI;
+
+import com.example.logger.LogUtils;
+
+import java.io.IOException;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * StartupIndex is the output of a training run: the component classes of a base package in the order the
+ * container created them. A later start can read it instead of scanning the classpath with Reflections, so
+ * neither the scanner nor its bytecode library has to be loaded. Together with a class data sharing archive
+ * recorded in the same run (see bin/cds-launch.sh) this takes the class loading work out of startup.
+ * <p>
+ * The file starts with a "# basePackage=..." and a "# fingerprint=..." header followed by one class name per
+ * line. The fingerprint covers the classpath entries holding the package (see fingerprint()), so classes added
+ * after the training run are noticed without scanning. An index for a different package, with a different
+ * fingerprint, or naming a class that no longer exists, is ignored with a warning and the package is scanned.
+ */
+final class StartupIndex {
+    static final String TRAINING_DIR_PROPERTY = "di.training.dir";
+    static final String INDEX_PROPERTY = "di.startup.index";
+    static final String FILE_NAME = "beans.idx";
+    private static final String HEADER = "# basePackage=";
+    private static final String FINGERPRINT = "# fingerprint=";
+
+    // Prevent instantiation
+    private StartupIndex() {
+    }
+
+    // Write the index if this is a training run (-Ddi.training.dir=<dir>)
+    static void record(String basePackage, List<Class<?>> componentClasses) {
+        String trainingDir = System.getProperty(TRAINING_DIR_PROPERTY);
+        if (trainingDir == null) return;
+
+        Path file = Path.of(trainingDir, FILE_NAME);
+        try {
+            List<String> lines = new ArrayList<>(componentClasses.size() + 2);
+            lines.add(HEADER + basePackage);
+            lines.add(FINGERPRINT + fingerprint(basePackage));
+            for (var componentClass : componentClasses) lines.add(componentClass.getName());
+            Files.createDirectories(file.getParent());
+            Files.write(file, lines, StandardCharsets.UTF_8);
+            LogUtils.event(() -> "training run recorded " + componentClasses.size() + " components in " + file);
+        } catch (IOException e) {
+            LogUtils.warn("Failed to write startup index {}: {}", file, e.getMessage());
+        }
+    }
+
+    // The recorded component classes for the package (-Ddi.startup.index=<file>), or null if there is no usable index
+    static List<Class<?>> load(String basePackage) {
+        String index = System.getProperty(INDEX_PROPERTY);
+        if (index == null) return null;
+
+        try {
+            List<String> lines = Files.readAllLines(Path.of(index), StandardCharsets.UTF_8);
+            if (lines.isEmpty() || !lines.get(0).equals(HEADER + basePackage)) {
+                LogUtils.warn("Startup index {} was not recorded for {}, scanning instead", index, basePackage);
+                return null;
+            }
+            if (lines.size() < 2 || !lines.get(1).equals(FINGERPRINT + fingerprint(basePackage))) {
+                LogUtils.warn("Classes of {} changed since startup index {} was recorded, scanning instead", basePackage, index);
+                return null;
+            }
+            ClassLoader classLoader = StartupIndex.class.getClassLoader();
+            List<Class<?>> componentClasses = new ArrayList<>(lines.size() - 2);
+            for (var line : lines.subList(2, lines.size()))
+                if (!line.isBlank()) componentClasses.add(Class.forName(line.trim(), false, classLoader));
+            return componentClasses;
+        } catch (IOException | ClassNotFoundException e) {
+            LogUtils.warn("Startup index {} is unusable ({}), scanning instead", index, e.toString());
+            return null;
+        }
+    }
+
+    // Identifies the classes of a package without reading them: size and modification time of every jar
+    // holding the package, and the number and latest modification time of the class files in every directory
+    // holding it. Adding, removing or recompiling a class changes the fingerprint.
+    static String fingerprint(String basePackage) throws IOException {
+        CRC32 checksum = new CRC32();
+        var roots = StartupIndex.class.getClassLoader().getResources(basePackage.replace('.', '/'));
+        while (roots.hasMoreElements()) {
+            URL root = roots.nextElement();
+            String part;
+            try {
+                if (root.getProtocol().equals("jar")) {
+                    Path jar = Path.of(((JarURLConnection) root.openConnection()).getJarFileURL().toURI());
+                    part = jar + ":" + Files.size(jar) + ":" + Files.getLastModifiedTime(jar).toMillis();
+                } else if (root.getProtocol().equals("file")) {
+                    Path directory = Path.of(root.toURI());
+                    long classes = 0, lastModified = 0;
+                    try (Stream<Path> files = Files.walk(directory)) {
+                        for (var file : (Iterable<Path>) files::iterator) {
+                            if (!file.toString().endsWith(".class")) continue;
+                            classes++;
+                            lastModified = Math.max(lastModified, Files.getLastModifiedTime(file).toMillis());
+                        }
+                    }
+                    part = directory + ":" + classes + ":" + lastModified;
+                } else {
+                    part = root.toString();
+                }
+            } catch (URISyntaxException e) {
+                part = root.toString();
+            }
+            checksum.update(part.getBytes(StandardCharsets.UTF_8));
+        }
+        return Long.toHexString(checksum.getValue());
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Caches the results of a component method by its arguments.
+// Intercepted components are handed out as interface proxies, so they must be used through their interfaces.
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Cached {
+    long ttl() default 0;           // time to live in milliseconds, 0 means entries never expire
+
+    int maxSize() default 1000;     // oldest entries are evicted once the cache grows beyond this size
+}
@@ -0,0 +1,14 @@
+package com.example.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Marks a single-argument component method as a listener for events of the argument's type (and its subtypes).
+// Async listeners run on the event bus threads; events for one listener and partition key keep their order.
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface EventListener {
+    boolean async() default false;
+}
@@ -0,0 +1,13 @@
+package com.example.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Records call count and time of a component method, or of all its interface methods when placed on the class.
+// Intercepted components are handed out as interface proxies, so they must be used through their interfaces.
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface Timed {
+}
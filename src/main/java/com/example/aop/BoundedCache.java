@@ -0,0 +1,50 @@
+package com.example.aop;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A concurrent cache with a maximum size and an optional time to live.
+ * Once the cache grows beyond maxSize the oldest keys are evicted first. Expired entries are
+ * treated as missing and replaced in place by the next put, so every key in the eviction queue
+ * has exactly one entry in the map.
+ */
+public class BoundedCache<K, V> {
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final Queue<K> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final long ttlNanos;
+    private final int maxSize;
+
+    public BoundedCache(long ttlMillis, int maxSize) {
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.maxSize = maxSize;
+    }
+
+    // Returns null if the key is missing or expired
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) return null;
+        if (ttlNanos > 0 && System.nanoTime() - entry.createdAt > ttlNanos) return null;
+        return entry.value;
+    }
+
+    public void put(K key, V value) {
+        if (entries.put(key, new Entry<>(value, ttlNanos > 0 ? System.nanoTime() : 0)) != null) return;
+        insertionOrder.add(key);
+        while (entries.size() > maxSize) {
+            K oldest = insertionOrder.poll();
+            if (oldest == null) break;
+            entries.remove(oldest);
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private record Entry<V>(V value, long createdAt) {
+    }
+}
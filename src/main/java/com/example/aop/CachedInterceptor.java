@@ -0,0 +1,61 @@
+package com.example.aop;
+
+import com.example.annotations.Cached;
+
+import java.util.Arrays;
+
+/**
+ * Interceptor for @Cached methods. Results are kept in a BoundedCache per method and proxy, created on the
+ * first call (see ProxyTarget), keyed by the argument itself for single-argument methods and by the
+ * argument array otherwise; a JDK proxy passes a new array to every call, so the array isn't copied.
+ * Null results are cached too, exceptions are not.
+ */
+final class CachedInterceptor {
+    private static final Object NULL = new Object();
+    private static final Object NO_ARGS = new Object();
+
+    // Prevent instantiation
+    private CachedInterceptor() {
+    }
+
+    static MethodInvoker wrap(Cached cached, int cacheSlot, int parameterCount, MethodInvoker next) {
+        return (target, args) -> {
+            BoundedCache<Object, Object> cache = target.cache(cacheSlot, cached);
+            Object key = key(parameterCount, args);
+            Object value = cache.get(key);
+            if (value == null) {
+                value = next.invoke(target, args);
+                cache.put(key, value == null ? NULL : value);
+                return value;
+            }
+            return value == NULL ? null : value;
+        };
+    }
+
+    private static Object key(int parameterCount, Object[] args) {
+        if (parameterCount == 0) return NO_ARGS;
+        if (parameterCount == 1 && (args[0] == null || !args[0].getClass().isArray()))
+            return args[0] == null ? NULL : args[0];
+        return new ArgumentsKey(args);
+    }
+
+    private static final class ArgumentsKey {
+        private final Object[] args;
+        private final int hash;
+
+        private ArgumentsKey(Object[] args) {
+            this.args = args;
+            this.hash = Arrays.deepHashCode(args);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof ArgumentsKey key && Arrays.deepEquals(args, key.args);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.aop;
+
+// One link of a precomputed interceptor chain, either an interceptor or the call to the target method.
+// Chains are shared by all proxies of a class, the proxy's own state is passed in as target.
+@FunctionalInterface
+interface MethodInvoker {
+    Object invoke(ProxyTarget target, Object[] args) throws Throwable;
+}
@@ -0,0 +1,136 @@
+package com.example.aop;
+
+import com.example.annotations.Cached;
+import com.example.annotations.Timed;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.*;
+
+/**
+ * ProxyFactory wraps components that use @Timed or @Cached in a JDK interface proxy.
+ * The interfaces and the interceptor chain of every method are computed once per class and shared by all
+ * proxies of that class: a proxy only binds its target (see ProxyTarget), and each call only looks up the
+ * chain of the invoked method and runs it, ending in a MethodHandle, so there is no reflective invocation
+ * per call. Components without intercepted methods are returned as they are.
+ */
+public final class ProxyFactory {
+    private static final Plan NOT_INTERCEPTED = new Plan(false, new Class<?>[0], Map.of(), 0);
+
+    private static final ClassValue<Plan> PLANS = new ClassValue<>() {
+        @Override
+        protected Plan computeValue(Class<?> componentClass) {
+            return plan(componentClass);
+        }
+    };
+
+    // Prevent instantiation
+    private ProxyFactory() {
+    }
+
+    public static boolean isIntercepted(Class<?> componentClass) {
+        return PLANS.get(componentClass).intercepted();
+    }
+
+    // Interfaces implemented by the proxies of a component class, empty if the class isn't intercepted
+    public static List<Class<?>> getProxyInterfaces(Class<?> componentClass) {
+        return List.of(PLANS.get(componentClass).interfaces());
+    }
+
+    // Returns a proxy implementing all interfaces of the component, or the component itself if nothing is intercepted
+    public static Object createProxy(Object target) {
+        Class<?> componentClass = target.getClass();
+        Plan plan = PLANS.get(componentClass);
+        if (!plan.intercepted()) return target;
+        if (plan.interfaces().length == 0)
+            throw new RuntimeException("Intercepted component must implement an interface: " + componentClass.getName());
+
+        var handler = new ProxyTarget(target, plan.chains(), plan.cacheCount());
+        return Proxy.newProxyInstance(componentClass.getClassLoader(), plan.interfaces(), handler);
+    }
+
+    private static Plan plan(Class<?> componentClass) {
+        if (!hasInterceptors(componentClass)) return NOT_INTERCEPTED;
+
+        Set<Class<?>> interfaces = new LinkedHashSet<>();
+        for (Class<?> type = componentClass; type != null; type = type.getSuperclass())
+            interfaces.addAll(Arrays.asList(type.getInterfaces()));
+
+        Map<Method, MethodInvoker> chains = new HashMap<>();
+        int cacheCount = 0;
+        try {
+            for (var method : Object.class.getMethods()) {
+                // a proxy passed to equals is compared through its target, so proxy.equals(proxy) holds
+                if (method.getName().equals("equals")) chains.put(method, (target, args) -> target.instance.equals(unwrap(args[0])));
+                else if (method.getName().equals("hashCode") || method.getName().equals("toString")) chains.put(method, invoker(method));
+            }
+            for (var type : interfaces) {
+                for (var method : type.getMethods()) {
+                    if (chains.containsKey(method)) continue;
+                    Method implementation = implementation(componentClass, method);
+                    Cached cached = implementation == null ? null : implementation.getAnnotation(Cached.class);
+                    chains.put(method, chain(componentClass, method, implementation, cached, cached != null ? cacheCount++ : -1));
+                }
+            }
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException("Failed to create proxy for: " + componentClass.getName(), e);
+        }
+        return new Plan(true, interfaces.toArray(new Class<?>[0]), chains, cacheCount);
+    }
+
+    private static boolean hasInterceptors(Class<?> componentClass) {
+        if (componentClass.isAnnotationPresent(Timed.class)) return true;
+        for (var method : componentClass.getMethods())
+            if (method.isAnnotationPresent(Timed.class) || method.isAnnotationPresent(Cached.class)) return true;
+        return false;
+    }
+
+    // Build the chain of an interface method, annotations are read from the implementing method
+    private static MethodInvoker chain(Class<?> componentClass, Method method, Method implementation,
+                                       Cached cached, int cacheSlot) throws IllegalAccessException {
+        MethodInvoker invoker = invoker(method);
+        if (implementation == null) return invoker; // default method that isn't overridden
+
+        if (cached != null) invoker = CachedInterceptor.wrap(cached, cacheSlot, method.getParameterCount(), invoker);
+        if (implementation.isAnnotationPresent(Timed.class) || componentClass.isAnnotationPresent(Timed.class))
+            invoker = TimedInterceptor.wrap(timingName(componentClass, method), invoker);
+        return invoker;
+    }
+
+    // ClassName.methodName(ParameterTypes), see TimedInterceptor.getTimings()
+    private static String timingName(Class<?> componentClass, Method method) {
+        StringJoiner parameters = new StringJoiner(",", "(", ")");
+        for (var type : method.getParameterTypes()) parameters.add(type.getTypeName());
+        return componentClass.getName() + "." + method.getName() + parameters;
+    }
+
+    private static Method implementation(Class<?> componentClass, Method method) {
+        try {
+            return componentClass.getMethod(method.getName(), method.getParameterTypes());
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    // The call to the target method itself, as a MethodHandle taking the target and the argument array
+    private static MethodInvoker invoker(Method method) throws IllegalAccessException {
+        method.setAccessible(true); // interfaces of the component don't have to be public
+        MethodHandle handle = MethodHandles.lookup().unreflect(method)
+                .asSpreader(Object[].class, method.getParameterCount())
+                .asType(MethodType.methodType(Object.class, Object.class, Object[].class));
+        return (target, args) -> (Object) handle.invokeExact(target.instance, args);
+    }
+
+    private static Object unwrap(Object object) {
+        if (object != null && Proxy.isProxyClass(object.getClass())
+                && Proxy.getInvocationHandler(object) instanceof ProxyTarget target) return target.instance;
+        return object;
+    }
+
+    // Everything about a component class that doesn't depend on the instance
+    private record Plan(boolean intercepted, Class<?>[] interfaces, Map<Method, MethodInvoker> chains, int cacheCount) {
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.aop;
+
+import com.example.annotations.Cached;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The per-proxy part of an intercepted component: the target instance and the caches of its @Cached methods.
+ * Everything else (interfaces, interceptor chains) is built once per class by ProxyFactory, so creating
+ * a proxy for a prototype only allocates this handler and the proxy itself.
+ */
+final class ProxyTarget implements InvocationHandler {
+    private static final Object[] NO_ARGS = new Object[0];
+
+    final Object instance;
+    private final Map<Method, MethodInvoker> chains;
+    private final AtomicReferenceArray<BoundedCache<Object, Object>> caches; // created on first call, null if none
+
+    ProxyTarget(Object instance, Map<Method, MethodInvoker> chains, int cacheCount) {
+        this.instance = instance;
+        this.chains = chains;
+        this.caches = cacheCount == 0 ? null : new AtomicReferenceArray<>(cacheCount);
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        return chains.get(method).invoke(this, args == null ? NO_ARGS : args);
+    }
+
+    BoundedCache<Object, Object> cache(int slot, Cached cached) {
+        BoundedCache<Object, Object> cache = caches.get(slot);
+        if (cache == null) {
+            caches.compareAndSet(slot, null, new BoundedCache<>(cached.ttl(), cached.maxSize()));
+            cache = caches.get(slot);
+        }
+        return cache;
+    }
+}
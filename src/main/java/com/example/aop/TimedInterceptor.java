@@ -0,0 +1,65 @@
+package com.example.aop;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Interceptor for @Timed methods. Each method gets its own Timing when the chain is built,
+ * so a call only does two nanoTime reads and a few counter updates.
+ */
+public final class TimedInterceptor {
+    private static final Map<String, Timing> timings = new ConcurrentHashMap<>();
+
+    // Prevent instantiation
+    private TimedInterceptor() {
+    }
+
+    static MethodInvoker wrap(String methodName, MethodInvoker next) {
+        Timing timing = timings.computeIfAbsent(methodName, name -> new Timing());
+        return (target, args) -> {
+            long start = System.nanoTime();
+            try {
+                return next.invoke(target, args);
+            } finally {
+                timing.record(System.nanoTime() - start);
+            }
+        };
+    }
+
+    // Timings of all @Timed methods, keyed by "ClassName.methodName(ParameterTypes)" so overloads are kept apart
+    public static Map<String, Timing> getTimings() {
+        return Collections.unmodifiableMap(timings);
+    }
+
+    public static final class Timing {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        private void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public long getTotalNanos() {
+            return totalNanos.sum();
+        }
+
+        public long getMaxNanos() {
+            return maxNanos.get();
+        }
+
+        @Override
+        public String toString() {
+            return "count=" + getCount() + ", totalNanos=" + getTotalNanos() + ", maxNanos=" + getMaxNanos();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.events;
+
+import com.example.annotations.EventListener;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ApplicationEventMulticaster is the container's ApplicationEventPublisher. Listener methods are turned into
+ * MethodHandles bound to their beans when they are registered, and the listeners of every event class are
+ * resolved once into an array, so publishing an event is a map lookup and a loop over that array.
+ * Async listeners run on a PartitionedExecutor that is started with the first async listener and stopped by close().
+ */
+public class ApplicationEventMulticaster implements ApplicationEventPublisher, AutoCloseable {
+    private static final Listener[] NO_LISTENERS = new Listener[0];
+
+    private final List<Listener> listeners = new ArrayList<>();
+    private final Map<Class<?>, Listener[]> listenersByEventType = new ConcurrentHashMap<>();
+    private volatile PartitionedExecutor executor;
+    private final int asyncLanes;
+
+    public ApplicationEventMulticaster() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    // Multicaster whose async listeners share the given number of lanes
+    public ApplicationEventMulticaster(int asyncLanes) {
+        this.asyncLanes = asyncLanes;
+    }
+
+    // Register an @EventListener method of a bean, the method must take exactly one parameter
+    public synchronized void addListener(Object bean, Method method) {
+        if (method.getParameterCount() != 1)
+            throw new RuntimeException("@EventListener method must take exactly one parameter: " + method);
+        MethodHandle handle;
+        try {
+            method.setAccessible(true);
+            handle = MethodHandles.lookup().unreflect(method)
+                    .bindTo(bean)
+                    .asType(MethodType.methodType(void.class, Object.class));
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException("Failed to register event listener: " + method, e);
+        }
+        boolean async = method.getAnnotation(EventListener.class).async();
+        if (async && executor == null)
+            executor = new PartitionedExecutor(asyncLanes, "event-bus");
+
+        listeners.add(new Listener(method.getParameterTypes()[0], handle, async, listeners.size(),
+                bean.getClass().getName() + "." + method.getName()));
+        listenersByEventType.clear(); // tables are rebuilt on the next publish
+    }
+
+    // Register all @EventListener methods declared by the bean's class
+    public void addListeners(Object bean) {
+        for (var method : bean.getClass().getDeclaredMethods())
+            if (method.isAnnotationPresent(EventListener.class)) addListener(bean, method);
+    }
+
+    public boolean hasListeners(Class<?> eventType) {
+        return listenersFor(eventType).length > 0;
+    }
+
+    @Override
+    public void publishEvent(Object event) {
+        Listener[] targets = listenersFor(event.getClass());
+        if (targets.length == 0) return;
+
+        int key = event instanceof PartitionedEvent partitioned ? partitioned.getPartitionKey().hashCode() : 0;
+        for (var listener : targets) {
+            if (listener.async) executor.execute(31 * listener.index + key, () -> listener.invoke(event));
+            else listener.invoke(event);
+        }
+    }
+
+    // Deliver the async events published so far (waiting up to 10 seconds) and stop the async lanes.
+    // Sync listeners keep working, publishing to an async listener afterwards fails.
+    @Override
+    public void close() {
+        PartitionedExecutor current = executor;
+        if (current != null) current.shutdown(10, TimeUnit.SECONDS);
+    }
+
+    private Listener[] listenersFor(Class<?> eventType) {
+        Listener[] targets = listenersByEventType.get(eventType);
+        return targets != null ? targets : resolve(eventType);
+    }
+
+    // Build the listener table of an event class, synchronized with addListener so a table is never stale
+    private synchronized Listener[] resolve(Class<?> eventType) {
+        List<Listener> matching = new ArrayList<>();
+        for (var listener : listeners)
+            if (listener.eventType.isAssignableFrom(eventType)) matching.add(listener);
+        Listener[] targets = matching.isEmpty() ? NO_LISTENERS : matching.toArray(new Listener[0]);
+        listenersByEventType.put(eventType, targets);
+        return targets;
+    }
+
+    private record Listener(Class<?> eventType, MethodHandle handle, boolean async, int index, String name) {
+        void invoke(Object event) {
+            try {
+                handle.invokeExact(event);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new RuntimeException("Event listener failed: " + name, e);
+            }
+        }
+    }
+}
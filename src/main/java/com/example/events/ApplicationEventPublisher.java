@@ -0,0 +1,6 @@
+package com.example.events;
+
+// Publishes events to @EventListener methods, inject it with @Autowired or @Inject
+public interface ApplicationEventPublisher {
+    void publishEvent(Object event);
+}
@@ -0,0 +1,20 @@
+package com.example.events;
+
+// Published after a singleton bean has been injected and its @PostConstruct methods have run
+public class BeanInitializedEvent {
+    private final String beanName;
+    private final Object bean;
+
+    public BeanInitializedEvent(String beanName, Object bean) {
+        this.beanName = beanName;
+        this.bean = bean;
+    }
+
+    public String getBeanName() {
+        return beanName;
+    }
+
+    public Object getBean() {
+        return bean;
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.events;
+
+// Published when the ApplicationContext has created, injected and initialized its beans
+public class ContextRefreshedEvent {
+    private final Object context;
+
+    public ContextRefreshedEvent(Object context) {
+        this.context = context;
+    }
+
+    public Object getContext() {
+        return context;
+    }
+}
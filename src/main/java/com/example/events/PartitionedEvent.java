@@ -0,0 +1,7 @@
+package com.example.events;
+
+// Events with the same partition key are delivered to each async listener in publishing order.
+// Events that don't implement this interface are ordered per listener.
+public interface PartitionedEvent {
+    Object getPartitionKey();
+}
@@ -0,0 +1,126 @@
+package com.example.events;
+
+import com.example.logger.LogUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A fixed set of single-threaded lanes. Tasks submitted with the same partition go to the same lane and
+ * run in submission order. Each lane drains its queue in batches, so a burst of events costs one wake-up
+ * instead of one per event.
+ * <p>
+ * Lanes are bounded for outside publishers: a publisher that gets more than LANE_CAPACITY events ahead of a
+ * lane blocks until the lane catches up, so high-rate events slow the publisher down instead of filling the heap.
+ * Tasks published from a lane thread never block, as lanes publishing to each other would deadlock; they are
+ * queued beyond the capacity, in the same queue so they still run in submission order.
+ */
+class PartitionedExecutor {
+    static final int LANE_CAPACITY = 4096;
+    private static final int BATCH_SIZE = 64;
+    private static final Runnable STOP = () -> {
+    };
+
+    private final Lane[] lanes;
+    private volatile boolean shutdown;
+
+    PartitionedExecutor(int laneCount, String name) {
+        lanes = new Lane[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            lanes[i] = new Lane(name + "-" + i);
+            lanes[i].thread.start();
+        }
+    }
+
+    void execute(int partition, Runnable task) {
+        if (shutdown) throw new RuntimeException("Event bus is shut down");
+        Lane lane = lanes[Math.floorMod(partition, lanes.length)];
+        if (Thread.currentThread() instanceof LaneThread) {
+            lane.queue.add(new Overflow(task));
+            return;
+        }
+        try {
+            while (!lane.permits.tryAcquire(100, TimeUnit.MILLISECONDS))
+                if (shutdown) throw new RuntimeException("Event bus is shut down");
+            lane.queue.add(task);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while publishing an event", e);
+        }
+    }
+
+    // Let every lane run the tasks queued so far and stop its thread. Lanes that haven't finished
+    // within the timeout are interrupted.
+    synchronized void shutdown(long timeout, TimeUnit unit) {
+        if (shutdown) return;
+        shutdown = true;
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        try {
+            for (var lane : lanes) lane.queue.add(STOP);
+            for (var lane : lanes) {
+                TimeUnit.NANOSECONDS.timedJoin(lane.thread, Math.max(1, deadline - System.nanoTime()));
+                if (lane.thread.isAlive()) lane.thread.interrupt();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            for (var lane : lanes) lane.thread.interrupt();
+        }
+    }
+
+    // A task published from a lane thread, it holds no permit of the lane it runs on
+    private record Overflow(Runnable task) implements Runnable {
+        @Override
+        public void run() {
+            task.run();
+        }
+    }
+
+    private static final class LaneThread extends Thread {
+        private LaneThread(Runnable lane, String name) {
+            super(lane, name);
+            setDaemon(true);
+        }
+    }
+
+    private static final class Lane implements Runnable {
+        private final BlockingQueue<Runnable> queue = new LinkedBlockingQueue<>();
+        private final Semaphore permits = new Semaphore(LANE_CAPACITY); // queue slots left for outside publishers
+        private final Thread thread;
+
+        private Lane(String name) {
+            thread = new LaneThread(this, name);
+        }
+
+        @Override
+        public void run() {
+            List<Runnable> batch = new ArrayList<>(BATCH_SIZE);
+            try {
+                while (true) {
+                    batch.add(queue.take());
+                    queue.drainTo(batch, BATCH_SIZE - 1);
+                    for (var task : batch) {
+                        if (task == STOP) return;
+                        if (!(task instanceof Overflow)) permits.release();
+                        runSafely(task);
+                    }
+                    batch.clear();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        // A failing listener, even with an Error, must not take the lane and its queued events down with it
+        private static void runSafely(Runnable task) {
+            try {
+                task.run();
+            } catch (Throwable e) {
+                LogUtils.error("Async event listener failed", e);
+            }
+        }
+    }
+}
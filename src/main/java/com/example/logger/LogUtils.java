@@ -3,6 +3,13 @@ package com.example.logger;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
 public final class LogUtils {
 
     // Prevent instantiation
@@ -12,6 +19,13 @@ public final class LogUtils {
     // Static logger instance
     private static final Logger logger = LoggerFactory.getLogger("ApplicationLogger");
 
+    // Lifecycle events queued in async mode before new ones are dropped
+    public static final int ASYNC_QUEUE_CAPACITY = 8192;
+
+    // Container lifecycle events go through a background thread when -Ddi.log.async=true or after setAsync(true)
+    private static volatile boolean async = Boolean.getBoolean("di.log.async");
+    private static final LongAdder droppedEvents = new LongAdder();
+
     // Static methods for logging
     public static void info(String message) {
         logger.info(message);
@@ -48,5 +62,110 @@ public final class LogUtils {
     public static void error(String message, Throwable throwable) {
         logger.error(message, throwable);
     }
-}
 
+    // Lazy variants, the message is only built if the level is enabled
+    public static void info(Supplier<String> message) {
+        if (logger.isInfoEnabled()) logger.info(message.get());
+    }
+
+    public static void debug(Supplier<String> message) {
+        if (logger.isDebugEnabled()) logger.debug(message.get());
+    }
+
+    public static void warn(Supplier<String> message) {
+        if (logger.isWarnEnabled()) logger.warn(message.get());
+    }
+
+    public static boolean isInfoEnabled() {
+        return logger.isInfoEnabled();
+    }
+
+    public static boolean isDebugEnabled() {
+        return logger.isDebugEnabled();
+    }
+
+    // Log a container lifecycle event at INFO. Costs nothing when INFO is disabled; in async mode the message
+    // is built and written by a background thread, so the caller never waits for the appender.
+    public static void event(Supplier<String> message) {
+        if (!logger.isInfoEnabled()) return;
+        if (async) AsyncEvents.INSTANCE.offer(message);
+        else logger.info(message.get());
+    }
+
+    // Write out all queued lifecycle events on the calling thread
+    public static void flush() {
+        if (async) AsyncEvents.INSTANCE.drain();
+    }
+
+    // Switch async lifecycle logging on or off, events still queued are written out when it is switched off
+    public static void setAsync(boolean enabled) {
+        boolean wasAsync = async;
+        async = enabled;
+        if (wasAsync && !enabled) AsyncEvents.INSTANCE.drain();
+    }
+
+    // Total number of lifecycle events dropped because the async queue was full
+    public static long getDroppedEvents() {
+        return droppedEvents.sum();
+    }
+
+    // Bounded queue of lifecycle events drained in batches by a daemon thread. When the queue is full
+    // events are dropped and counted rather than blocking bean creation. A message that fails to build
+    // is logged and skipped, so it can't stop the writer.
+    private static final class AsyncEvents implements Runnable {
+        private static final AsyncEvents INSTANCE = new AsyncEvents();
+        private static final int BATCH_SIZE = 256;
+
+        private final BlockingQueue<Supplier<String>> queue = new ArrayBlockingQueue<>(ASYNC_QUEUE_CAPACITY);
+        private long reportedDrops; // guarded by this
+
+        private AsyncEvents() {
+            Thread thread = new Thread(this, "di-log");
+            thread.setDaemon(true);
+            thread.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(this::drain, "di-log-flush"));
+        }
+
+        void offer(Supplier<String> message) {
+            if (!queue.offer(message)) droppedEvents.increment();
+        }
+
+        @Override
+        public void run() {
+            List<Supplier<String>> batch = new ArrayList<>(BATCH_SIZE);
+            try {
+                while (true) {
+                    batch.add(queue.take());
+                    queue.drainTo(batch, BATCH_SIZE - 1);
+                    write(batch);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        void drain() {
+            List<Supplier<String>> batch = new ArrayList<>();
+            queue.drainTo(batch);
+            write(batch);
+        }
+
+        private void write(List<Supplier<String>> batch) {
+            for (var message : batch) {
+                try {
+                    logger.info(message.get());
+                } catch (Exception e) {
+                    logger.warn("Failed to build a container log event", e);
+                }
+            }
+            batch.clear();
+            long lost;
+            synchronized (this) {
+                long dropped = droppedEvents.sum();
+                lost = dropped - reportedDrops;
+                reportedDrops = dropped;
+            }
+            if (lost > 0) logger.warn("{} container log events were dropped", lost);
+        }
+    }
+}
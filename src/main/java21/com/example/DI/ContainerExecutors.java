@@ -0,0 +1,19 @@
+package com.example.DI;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Java 21+ version of ContainerExecutors, packaged under META-INF/versions/21 of the multi-release jar.
+ * Every bean supplier runs on its own virtual thread.
+ */
+final class ContainerExecutors {
+
+    // Prevent instantiation
+    private ContainerExecutors() {
+    }
+
+    static ExecutorService newInitExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("bean-init-", 0).factory());
+    }
+}
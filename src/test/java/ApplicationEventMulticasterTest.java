@@ -0,0 +1,240 @@
+import com.example.DI.ApplicationContext;
+import com.example.DI.BeanFactory;
+import com.example.annotations.EventListener;
+import com.example.events.ApplicationEventMulticaster;
+import com.example.events.ApplicationEventPublisher;
+import com.example.events.BeanInitializedEvent;
+import com.example.events.PartitionedEvent;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class ApplicationEventMulticasterTest {
+    @Test
+    void testSyncListenersReceiveEventsOfTheirTypeAndSubtypes() {
+        var multicaster = new ApplicationEventMulticaster();
+        var listener = new SyncListener();
+        multicaster.addListeners(listener);
+
+        multicaster.publishEvent("hello");
+        multicaster.publishEvent(42);
+        multicaster.publishEvent(new Object());
+
+        Assertions.assertEquals(List.of("hello"), listener.strings);
+        Assertions.assertEquals(List.of("hello", 42), listener.objects.subList(0, 2));
+        Assertions.assertEquals(3, listener.objects.size());
+    }
+
+    @Test
+    void testAsyncListenerKeepsOrderPerPartitionKey() throws InterruptedException {
+        var multicaster = new ApplicationEventMulticaster();
+        var listener = new AsyncListener(2000);
+        multicaster.addListeners(listener);
+
+        for (int i = 0; i < 1000; i++) {
+            multicaster.publishEvent(new OrderEvent("a", i));
+            multicaster.publishEvent(new OrderEvent("b", i));
+        }
+
+        Assertions.assertTrue(listener.done.await(10, TimeUnit.SECONDS));
+        for (var sequence : listener.received.values())
+            for (int i = 0; i < sequence.size(); i++) Assertions.assertEquals(i, sequence.get(i));
+        Assertions.assertEquals(1000, listener.received.get("a").size());
+        multicaster.close();
+    }
+
+    @Test
+    void testCloseDeliversQueuedEventsAndStopsTheLanes() {
+        long lanesBefore = eventBusThreads();
+        var multicaster = new ApplicationEventMulticaster();
+        var listener = new AsyncListener(500);
+        multicaster.addListeners(listener);
+        for (int i = 0; i < 500; i++) multicaster.publishEvent(new OrderEvent("c", i));
+
+        multicaster.close();
+
+        Assertions.assertEquals(0, listener.done.getCount());
+        Assertions.assertEquals(lanesBefore, eventBusThreads());
+        Assertions.assertThrows(RuntimeException.class, () -> multicaster.publishEvent(new OrderEvent("c", 500)));
+    }
+
+    @Test
+    void testFailingAsyncListenerDoesNotStopItsLane() throws InterruptedException {
+        var multicaster = new ApplicationEventMulticaster();
+        var listener = new FailingListener();
+        multicaster.addListeners(listener);
+
+        multicaster.publishEvent(new OrderEvent("d", 0)); // throws an Error
+        multicaster.publishEvent(new OrderEvent("d", 1));
+
+        Assertions.assertTrue(listener.delivered.await(10, TimeUnit.SECONDS));
+        multicaster.close();
+    }
+
+    @Test
+    void testEventsPublishedFromAnAsyncListenerKeepTheirOrder() throws InterruptedException {
+        var multicaster = new ApplicationEventMulticaster(1); // the republished events land on the publishing lane
+        var listener = new AsyncListener(5000);
+        multicaster.addListeners(listener);
+        multicaster.addListeners(new Republisher(multicaster, 5000));
+
+        multicaster.publishEvent(new Trigger());
+
+        Assertions.assertTrue(listener.done.await(10, TimeUnit.SECONDS));
+        var sequence = listener.received.get("e");
+        for (int i = 0; i < sequence.size(); i++) Assertions.assertEquals(i, sequence.get(i));
+        multicaster.close();
+    }
+
+    @Test
+    void testLanesFloodingEachOtherDoNotDeadlock() throws InterruptedException {
+        var multicaster = new ApplicationEventMulticaster(2); // ping and pong listeners get one lane each
+        var pingPong = new PingPong(multicaster, 10_000);
+        multicaster.addListeners(pingPong);
+
+        multicaster.publishEvent(new Ping(-1));
+
+        Assertions.assertTrue(pingPong.done.await(10, TimeUnit.SECONDS));
+        multicaster.close();
+    }
+
+    private static long eventBusThreads() {
+        return Thread.getAllStackTraces().keySet().stream().filter(thread -> thread.getName().startsWith("event-bus")).count();
+    }
+
+    @Test
+    void testBeanInitializedEventsOnRefresh() {
+        var factory = new BeanFactory();
+        var multicaster = new ApplicationEventMulticaster();
+        var lifecycle = new LifecycleListener();
+        multicaster.addListeners(lifecycle);
+        factory.setEventMulticaster(multicaster);
+
+        factory.newBatch().register("first", SyncListener.class, SyncListener::new).commit();
+        factory.refresh();
+
+        Assertions.assertEquals(List.of("first"), lifecycle.initialized);
+        multicaster.publishEvent("after refresh"); // listeners of beans created on refresh are registered too
+        SyncListener first = factory.getComponent("first");
+        Assertions.assertEquals(List.of("after refresh"), first.strings);
+    }
+
+    @Test
+    void testPublisherIsInjectable() throws Exception {
+        var context = new ApplicationContext("com.example");
+        Assertions.assertSame(context.getEventPublisher(), context.getBean(ApplicationEventPublisher.class));
+    }
+
+    public static class SyncListener {
+        final List<Object> strings = new ArrayList<>();
+        final List<Object> objects = new ArrayList<>();
+
+        @EventListener
+        public void onString(String event) {
+            strings.add(event);
+        }
+
+        @EventListener
+        public void onAnything(Object event) {
+            objects.add(event);
+        }
+    }
+
+    public record OrderEvent(String customer, int sequence) implements PartitionedEvent {
+        @Override
+        public Object getPartitionKey() {
+            return customer;
+        }
+    }
+
+    public static class AsyncListener {
+        final Map<String, List<Integer>> received = new ConcurrentHashMap<>();
+        final CountDownLatch done;
+
+        AsyncListener(int expected) {
+            done = new CountDownLatch(expected);
+        }
+
+        @EventListener(async = true)
+        public void onOrder(OrderEvent event) {
+            received.computeIfAbsent(event.customer(), key -> Collections.synchronizedList(new ArrayList<>()))
+                    .add(event.sequence());
+            done.countDown();
+        }
+    }
+
+    public static class FailingListener {
+        final CountDownLatch delivered = new CountDownLatch(1);
+
+        @EventListener(async = true)
+        public void onOrder(OrderEvent event) {
+            if (event.sequence() == 0) throw new AssertionError("listener bug");
+            delivered.countDown();
+        }
+    }
+
+    public record Trigger() {
+    }
+
+    public static class Republisher {
+        private final ApplicationEventPublisher publisher;
+        private final int count;
+
+        Republisher(ApplicationEventPublisher publisher, int count) {
+            this.publisher = publisher;
+            this.count = count;
+        }
+
+        @EventListener(async = true)
+        public void onTrigger(Trigger trigger) {
+            for (int i = 0; i < count; i++) publisher.publishEvent(new OrderEvent("e", i));
+        }
+    }
+
+    public record Ping(int sequence) {
+    }
+
+    public record Pong(int sequence) {
+    }
+
+    // Each listener answers the first event of the other one with a flood of its own events
+    public static class PingPong {
+        private final ApplicationEventPublisher publisher;
+        private final int count;
+        final CountDownLatch done;
+
+        PingPong(ApplicationEventPublisher publisher, int count) {
+            this.publisher = publisher;
+            this.count = count;
+            done = new CountDownLatch(2 * count);
+        }
+
+        @EventListener(async = true)
+        public void onPing(Ping ping) {
+            if (ping.sequence() < 0) for (int i = 0; i < count; i++) publisher.publishEvent(new Pong(i));
+            else done.countDown();
+        }
+
+        @EventListener(async = true)
+        public void onPong(Pong pong) {
+            if (pong.sequence() == 0) for (int i = 0; i < count; i++) publisher.publishEvent(new Ping(i));
+            done.countDown();
+        }
+    }
+
+    public static class LifecycleListener {
+        final List<String> initialized = new ArrayList<>();
+
+        @EventListener
+        public void onInitialized(BeanInitializedEvent event) {
+            initialized.add(event.getBeanName());
+        }
+    }
+}
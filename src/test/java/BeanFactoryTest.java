@@ -6,6 +6,8 @@ import exceptions.CircularDependencyException;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 public class BeanFactoryTest {
     @Test
     void testSingletonBeanCreation() throws Exception {
@@ -99,4 +101,142 @@ public class BeanFactoryTest {
         @Autowired
         private ComponentA componentA;
     }
+
+    @Test
+    void testBatchRegistrationIsDeferredUntilRefresh() {
+        var factory = new BeanFactory();
+        var created = new AtomicInteger();
+
+        var batch = factory.newBatch();
+        for (int i = 0; i < 1000; i++)
+            batch.register("handler" + i, Handler.class, () -> {
+                created.incrementAndGet();
+                return new Handler();
+            });
+        batch.register(DependencyComponent.class, DependencyComponent::new);
+        batch.commit();
+
+        Assertions.assertEquals(0, created.get()); // nothing is created before refresh
+        factory.refresh();
+        Assertions.assertEquals(1000, created.get());
+
+        Handler handler = factory.getComponent("handler42");
+        Assertions.assertNotNull(handler.dependency); // Dependency should be injected
+        Assertions.assertSame(handler, factory.getComponent("handler42"));
+    }
+
+    @Component
+    public static class Handler {
+        @Autowired
+        public DependencyComponent dependency;
+    }
+
+    @Test
+    void testBatchPrototypeUsesSupplier() {
+        var factory = new BeanFactory();
+        factory.newBatch()
+                .register("proto", MyPrototypeComponent.class, Scope.PROTOTYPE, null, MyPrototypeComponent::new)
+                .commit();
+        factory.refresh();
+
+        var bean1 = factory.getComponent("proto");
+        var bean2 = factory.getComponent("proto");
+
+        Assertions.assertNotNull(bean1);
+        Assertions.assertNotSame(bean1, bean2);
+    }
+
+    @Test
+    void testBatchReportsAllProblems() {
+        var factory = new BeanFactory();
+        var batch = factory.newBatch()
+                .register("a", MyComponent.class, Scope.SINGLETON, "same", MyComponent::new)
+                .register("a", MyComponent.class, MyComponent::new)
+                .register("b", MyComponent.class, Scope.SINGLETON, "same", MyComponent::new)
+                .register("c", MyComponent.class, null);
+
+        var e = Assertions.assertThrows(RuntimeException.class, batch::commit);
+        Assertions.assertTrue(e.getMessage().contains("registered twice"));
+        Assertions.assertTrue(e.getMessage().contains("Qualifier 'same'"));
+        Assertions.assertTrue(e.getMessage().contains("'c' has no supplier"));
+    }
+
+    @Test
+    void testBatchCircularDependencyDetectedBeforeInstantiation() {
+        var factory = new BeanFactory();
+        var batch = factory.newBatch()
+                .register(ComponentA.class, () -> Assertions.fail("must not be created"))
+                .register(ComponentB.class, () -> Assertions.fail("must not be created"));
+
+        Assertions.assertThrows(CircularDependencyException.class, batch::commit);
+    }
+
+    @Test
+    void testBatchReportsInjectionByTypeOfNamedBean() {
+        var factory = new BeanFactory();
+        var batch = factory.newBatch()
+                .register("dependency", DependencyComponent.class, DependencyComponent::new)
+                .register(Handler.class, Handler::new);
+
+        var e = Assertions.assertThrows(RuntimeException.class, batch::commit);
+        Assertions.assertTrue(e.getMessage().contains(Handler.class.getName() + ".dependency: no bean named " + DependencyComponent.class.getName()));
+    }
+
+    @Test
+    void testFailedRefreshRemovesPendingBeans() {
+        var factory = new BeanFactory();
+        var created = new AtomicInteger();
+        factory.newBatch()
+                .register(DependencyComponent.class, () -> {
+                    created.incrementAndGet();
+                    return new DependencyComponent();
+                })
+                .register("failing", MyComponent.class, () -> {
+                    throw new IllegalStateException("boom");
+                })
+                .commit();
+
+        Assertions.assertThrows(RuntimeException.class, factory::refresh);
+        Assertions.assertNull(factory.getComponent(DependencyComponent.class.getName())); // nothing stays published
+
+        factory.newBatch().register(DependencyComponent.class, DependencyComponent::new).commit();
+        factory.refresh();
+        Assertions.assertEquals(1, created.get()); // the failed batch isn't supplied again
+        Assertions.assertNotNull(factory.getComponent(DependencyComponent.class.getName()));
+    }
+
+    @Test
+    void testFailedBatchCanBeCommittedAgain() {
+        var factory = new BeanFactory();
+        var batch = factory.newBatch().register("handler", Handler.class, Handler::new);
+        Assertions.assertThrows(RuntimeException.class, batch::commit); // DependencyComponent is missing
+
+        factory.newBatch().register(DependencyComponent.class, DependencyComponent::new).commit();
+        batch.commit();
+        factory.refresh();
+
+        Handler handler = factory.getComponent("handler");
+        Assertions.assertNotNull(handler.dependency);
+    }
+
+    @Test
+    void testParallelInitCreatesEverySingletonOnce() {
+        var factory = new BeanFactory();
+        factory.setParallelInit(true);
+        var created = new AtomicInteger();
+
+        var batch = factory.newBatch();
+        for (int i = 0; i < 500; i++)
+            batch.register("handler" + i, Handler.class, () -> {
+                created.incrementAndGet();
+                return new Handler();
+            });
+        batch.register(DependencyComponent.class, DependencyComponent::new);
+        batch.commit();
+        factory.refresh();
+
+        Assertions.assertEquals(500, created.get());
+        Handler handler = factory.getComponent("handler499");
+        Assertions.assertNotNull(handler.dependency);
+    }
 }
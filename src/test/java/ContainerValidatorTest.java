@@ -0,0 +1,93 @@
+import com.example.DI.ApplicationContext;
+import com.example.DI.BeanDefinition;
+import com.example.DI.BeanFactory;
+import com.example.annotations.*;
+import com.example.enums.Scope;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+public class ContainerValidatorTest {
+    @Test
+    void testExampleContextIsValid() throws Exception {
+        Assertions.assertEquals(List.of(), ApplicationContext.validate("com.example"));
+    }
+
+    @Test
+    void testReportsEveryProblemWithoutCreatingBeans() throws Exception {
+        var factory = new BeanFactory();
+        factory.setProperties(new ByteArrayInputStream("port=eighty".getBytes(StandardCharsets.UTF_8)));
+        register(factory, Broken.class);
+        register(factory, ComponentA.class);
+        register(factory, ComponentB.class);
+
+        var problems = factory.validate();
+
+        Assertions.assertEquals(7, problems.size(), problems.toString());
+        Assertions.assertTrue(problems.contains(Broken.class.getName() + ".missing: no bean with qualifier 'nobody'"));
+        Assertions.assertTrue(problems.contains(Broken.class.getName() + ".unknown: no bean of type java.lang.Runnable"));
+        Assertions.assertTrue(problems.contains(Broken.class.getName() + ".name: missing property 'app.name'"));
+        Assertions.assertTrue(problems.contains(Broken.class.getName() + ".port: property 'port' value 'eighty' is not a valid int"));
+        Assertions.assertTrue(problems.contains(Broken.class.getName() + ".timeout: Unsupported type for @Value annotation: long"));
+        Assertions.assertTrue(problems.contains(Broken.class.getName() + ": no @Inject constructor and no no-arg constructor"));
+        Assertions.assertTrue(problems.get(6).startsWith("Circular dependency detected: "));
+        Assertions.assertEquals(0, Broken.created);
+    }
+
+    @Test
+    void testReportsBeanOfTypeRegisteredUnderAnotherName() {
+        var factory = new BeanFactory();
+        factory.registerDefinition("a1", new BeanDefinition(ComponentA.class, Scope.SINGLETON, null));
+        factory.registerDefinition("a2", new BeanDefinition(ComponentA.class, Scope.SINGLETON, null));
+        factory.registerDefinition(ComponentB.class.getName(), new BeanDefinition(ComponentB.class, Scope.SINGLETON, null));
+
+        var problems = factory.validate();
+
+        Assertions.assertTrue(problems.contains(ComponentB.class.getName() + ".componentA: no bean of type "
+                + ComponentA.class.getName() + " registered under its class name (found a1, a2)"), problems.toString());
+    }
+
+    private static void register(BeanFactory factory, Class<?> type) {
+        factory.registerDefinition(type.getName(), new BeanDefinition(type, Scope.SINGLETON, null));
+    }
+
+    @Component
+    public static class Broken {
+        static int created;
+
+        @Autowired
+        @Qualifier("nobody")
+        private Object missing;
+
+        @Inject
+        private Runnable unknown;
+
+        @Value("${app.name}")
+        private String name;
+
+        @Value("${port}")
+        private int port;
+
+        @Value("${port}")
+        private long timeout;
+
+        public Broken(String argument) {
+            created++;
+        }
+    }
+
+    @Component
+    public static class ComponentA {
+        @Autowired
+        private ComponentB componentB;
+    }
+
+    @Component
+    public static class ComponentB {
+        @Autowired
+        private ComponentA componentA;
+    }
+}
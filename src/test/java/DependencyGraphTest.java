@@ -0,0 +1,97 @@
+import com.example.DI.BeanDefinition;
+import com.example.DI.BeanFactory;
+import com.example.annotations.*;
+import com.example.enums.Scope;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+public class DependencyGraphTest {
+    @Test
+    void testGraphIsBuiltWithoutCreatingBeans() {
+        var factory = new BeanFactory();
+        factory.newBatch()
+                .register(Repository.class, () -> Assertions.fail("must not be created"))
+                .register(Service.class, () -> Assertions.fail("must not be created"))
+                .register(Controller.class, () -> Assertions.fail("must not be created"))
+                .register("audit", Audit.class, Scope.SINGLETON, "audit", () -> Assertions.fail("must not be created"))
+                .commit();
+
+        var graph = factory.getDependencyGraph();
+        var repository = Repository.class.getName();
+        var service = Service.class.getName();
+        var controller = Controller.class.getName();
+
+        Assertions.assertEquals(Set.of(repository, "audit"), graph.getDependencies(service));
+        Assertions.assertEquals(2, graph.getFanIn(repository));
+        Assertions.assertEquals(List.of(Set.of(repository, "audit"), Set.of(service), Set.of(controller)), graph.getLevels());
+        Assertions.assertEquals(Set.of(controller), graph.getLazyCandidates());
+        Assertions.assertEquals(controller, graph.getCriticalPath().get(0));
+        Assertions.assertTrue(graph.toDot().contains("\"" + service + "\" -> \"audit\""));
+        Assertions.assertTrue(graph.toJson().contains("\"lazyCandidates\": [\"" + controller + "\"]"));
+    }
+
+    @Test
+    void testUnqualifiedPointsOnlyResolveToBeanNamedAfterTheType() {
+        var factory = new BeanFactory();
+        factory.registerDefinition("r1", new BeanDefinition(Repository.class, Scope.SINGLETON, null));
+        factory.registerDefinition("r2", new BeanDefinition(Repository.class, Scope.SINGLETON, null));
+        factory.registerDefinition(Service.class.getName(), new BeanDefinition(Service.class, Scope.SINGLETON, null));
+
+        var graph = factory.getDependencyGraph();
+
+        Assertions.assertEquals(Set.of(), graph.getDependencies(Service.class.getName())); // injection would find no bean
+        Assertions.assertEquals(0, graph.getFanIn("r1"));
+    }
+
+    @Test
+    void testCriticalPathFollowsInitTime() {
+        var factory = new BeanFactory();
+        factory.createBean(Repository.class.getName(), new BeanDefinition(Repository.class, Scope.SINGLETON, null), Repository.class);
+        factory.createBean(Slow.class.getName(), new BeanDefinition(Slow.class, Scope.SINGLETON, null), Slow.class);
+        factory.createBean(Both.class.getName(), new BeanDefinition(Both.class, Scope.SINGLETON, null), Both.class);
+        factory.injectDependencies();
+
+        var path = factory.getDependencyGraph().getCriticalPath();
+        Assertions.assertEquals(List.of(Both.class.getName(), Slow.class.getName()), path);
+    }
+
+    public static class Repository {
+    }
+
+    public static class Audit {
+    }
+
+    public static class Service {
+        @Autowired
+        private Repository repository;
+
+        @Autowired
+        @Qualifier("audit")
+        private Audit audit;
+    }
+
+    public static class Controller {
+        @Inject
+        private Service service;
+
+        @Inject
+        private Repository repository;
+    }
+
+    public static class Slow {
+        public Slow() throws InterruptedException {
+            Thread.sleep(20);
+        }
+    }
+
+    public static class Both {
+        @Autowired
+        private Repository repository;
+
+        @Autowired
+        private Slow slow;
+    }
+}
@@ -0,0 +1,163 @@
+import com.example.DI.BeanFactory;
+import com.example.annotations.*;
+import com.example.enums.Scope;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.WeakReference;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class FrozenRegistryTest {
+    private BeanFactory frozenFactory() {
+        var factory = new BeanFactory();
+        var batch = factory.newBatch();
+        for (int i = 0; i < 1000; i++) batch.register("service" + i, Service.class, Service::new);
+        batch.register(Repository.class.getName(), Repository.class, Scope.SINGLETON, "primaryRepository", Repository::new)
+                .register("request", Request.class, Scope.PROTOTYPE, null, Request::new)
+                .commit();
+        factory.refresh();
+        factory.freeze();
+        return factory;
+    }
+
+    @Test
+    void testLookupsWorkAfterFreeze() {
+        var factory = frozenFactory();
+
+        Service service = factory.getComponent("service999");
+        Assertions.assertNotNull(service.repository); // injected before the freeze
+        Assertions.assertSame(service, factory.getComponent("service999"));
+        Assertions.assertSame(service.repository, factory.getComponent(Repository.class.getName()));
+        Assertions.assertNull(factory.getComponent("missing"));
+    }
+
+    @Test
+    void testPrototypesAreInjectedAfterFreeze() {
+        var factory = frozenFactory();
+
+        Request request1 = factory.getComponent("request");
+        Request request2 = factory.getComponent("request");
+
+        Assertions.assertNotSame(request1, request2);
+        Assertions.assertSame(factory.getComponent(Repository.class.getName()), request1.repository); // resolved by qualifier
+    }
+
+    @Test
+    void testDependencyGraphSurvivesFreeze() {
+        var factory = frozenFactory();
+
+        var graph = factory.getDependencyGraph();
+        Assertions.assertEquals(1002, graph.getBeans().size());
+        Assertions.assertTrue(graph.getDependencies("service7").contains(Repository.class.getName()));
+        Assertions.assertEquals(1001, graph.getFanIn(Repository.class.getName()));
+    }
+
+    @Test
+    void testRegistrationIsRejectedAfterFreeze() {
+        var factory = frozenFactory();
+
+        Assertions.assertThrows(RuntimeException.class, () -> factory.registerSingleton(Service.class, new Service()));
+        Assertions.assertThrows(RuntimeException.class, () -> factory.newBatch().register("late", Service.class, Service::new).commit());
+        Assertions.assertThrows(RuntimeException.class, factory::refresh);
+        Assertions.assertThrows(RuntimeException.class, factory::freeze);
+    }
+
+    @Test
+    void testLookupsRacingWithFreezeNeverMiss() throws InterruptedException {
+        for (int round = 0; round < 20; round++) {
+            var factory = new BeanFactory();
+            var batch = factory.newBatch();
+            for (int i = 0; i < 1000; i++) batch.register("service" + i, Service.class, Service::new);
+            batch.register(Repository.class, Repository::new).commit();
+            factory.refresh();
+
+            var frozen = new AtomicBoolean();
+            var misses = new AtomicInteger();
+            Thread[] readers = new Thread[4];
+            for (int r = 0; r < readers.length; r++) {
+                readers[r] = new Thread(() -> {
+                    // keep reading until a few lookups have run against the frozen registry
+                    for (int after = 0; after < 1000; ) {
+                        if (factory.getComponent("service999") == null) misses.incrementAndGet();
+                        if (frozen.get()) after++;
+                    }
+                });
+                readers[r].start();
+            }
+            factory.freeze();
+            frozen.set(true);
+            for (var reader : readers) reader.join();
+
+            Assertions.assertEquals(0, misses.get());
+        }
+    }
+
+    @Test
+    void testFrozenSingletonsDropTheirSuppliers() throws InterruptedException {
+        var factory = new BeanFactory();
+        var capturedRef = registerCapturingSupplier(factory);
+        factory.refresh();
+        factory.freeze();
+
+        for (int i = 0; i < 50 && capturedRef.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        Assertions.assertNull(capturedRef.get());
+        Assertions.assertNotNull(factory.getComponent("named"));
+        Assertions.assertNotSame(factory.getComponent("request"), factory.getComponent("request")); // prototypes keep theirs
+        Assertions.assertEquals(List.of(), factory.validate()); // still known to be supplied, no constructor needed
+    }
+
+    // Registers a singleton whose supplier holds the only reference to an object, returned weakly
+    private WeakReference<Object> registerCapturingSupplier(BeanFactory factory) {
+        Object captured = new Object();
+        factory.newBatch()
+                .register("named", Named.class, () -> new Named(captured.toString()))
+                .register("request", Request.class, Scope.PROTOTYPE, null, Request::new)
+                .register(Repository.class.getName(), Repository.class, Scope.SINGLETON, "primaryRepository", Repository::new)
+                .commit();
+        return new WeakReference<>(captured);
+    }
+
+    @Test
+    void testFootprintShrinks() {
+        var factory = new BeanFactory();
+        var batch = factory.newBatch();
+        for (int i = 0; i < 1000; i++) batch.register("service" + i, Service.class, Service::new);
+        batch.register(Repository.class, Repository::new).commit();
+        factory.refresh();
+
+        var footprint = factory.freeze();
+
+        Assertions.assertEquals(1001, footprint.getBeanCount());
+        Assertions.assertTrue(footprint.getBytesAfter() < footprint.getBytesBefore() / 2, footprint.toString());
+    }
+
+    @Component
+    public static class Service {
+        @Autowired
+        public Repository repository;
+    }
+
+    @Component
+    public static class Repository {
+    }
+
+    public static class Named {
+        public final String name;
+
+        public Named(String name) {
+            this.name = name;
+        }
+    }
+
+    @Component(scope = Scope.PROTOTYPE)
+    public static class Request {
+        @Autowired
+        @Qualifier("primaryRepository")
+        public Repository repository;
+    }
+}
@@ -0,0 +1,94 @@
+import com.example.DI.ApplicationContext;
+import com.example.DI.BeanFactory;
+import com.example.enums.Scope;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.condition.JRE;
+
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// getBean throughput from 100k virtual threads against the same load on a platform thread pool,
+// and refresh() with and without parallel init. Disabled by default, run on JDK 21 with:
+//   mvn verify -Ddi.benchmark=true
+public class GetBeanBenchmarkIT {
+    private static final int TASKS = 100_000;
+    private static final int SINGLETONS = 100;
+    private static final int ROUNDS = 5;
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    @EnabledIfSystemProperty(named = "di.benchmark", matches = "true")
+    void benchmark() throws Exception {
+        var context = new ApplicationContext("com.example");
+        var batch = context.registerBeans();
+        for (int i = 0; i < SINGLETONS; i++) batch.register("singleton" + i, Bean.class, Bean::new);
+        batch.register("prototype", Bean.class, Scope.PROTOTYPE, null, Bean::new).commit();
+        context.refresh();
+
+        int processors = Runtime.getRuntime().availableProcessors();
+        time("getBean, platform pool of " + processors, () -> Executors.newFixedThreadPool(processors), context);
+        time("getBean, virtual thread per task", GetBeanBenchmarkIT::virtualThreads, context);
+
+        for (boolean parallel : new boolean[]{false, true}) {
+            long[] millis = new long[ROUNDS];
+            for (int round = 0; round < ROUNDS; round++) {
+                var factory = new BeanFactory();
+                factory.setParallelInit(parallel);
+                var beans = factory.newBatch();
+                for (int i = 0; i < 10_000; i++) beans.register("bean" + i, Bean.class, GetBeanBenchmarkIT::slowBean);
+                beans.commit();
+                long start = System.nanoTime();
+                factory.refresh();
+                millis[round] = (System.nanoTime() - start) / 1_000_000;
+            }
+            report("refresh of 10000 beans (20 us supplier), parallel init " + parallel, millis);
+        }
+    }
+
+    // Each task looks up every singleton once and creates one prototype
+    private static void time(String name, Callable<ExecutorService> executors, ApplicationContext context) throws Exception {
+        long[] millis = new long[ROUNDS + 2];
+        for (int round = 0; round < millis.length; round++) {
+            ExecutorService executor = executors.call();
+            try {
+                long start = System.nanoTime();
+                Future<?>[] futures = new Future<?>[TASKS];
+                for (int i = 0; i < TASKS; i++)
+                    futures[i] = executor.submit(() -> {
+                        for (int bean = 0; bean < SINGLETONS; bean++) context.getBean("singleton" + bean, Bean.class);
+                        return context.getBean("prototype", Bean.class);
+                    });
+                for (var future : futures) future.get();
+                millis[round] = (System.nanoTime() - start) / 1_000_000;
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+        report(name + ", " + TASKS + " tasks x " + (SINGLETONS + 1) + " lookups", Arrays.copyOfRange(millis, 2, millis.length));
+    }
+
+    private static void report(String name, long[] millis) {
+        long[] sorted = millis.clone();
+        Arrays.sort(sorted);
+        System.out.println(name + ": best " + sorted[0] + " ms, median " + sorted[sorted.length / 2] + " ms");
+    }
+
+    // Executors.newVirtualThreadPerTaskExecutor() only exists on Java 21+, the tests are compiled for Java 17
+    private static ExecutorService virtualThreads() throws ReflectiveOperationException {
+        return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    }
+
+    private static Bean slowBean() {
+        long end = System.nanoTime() + 20_000;
+        while (System.nanoTime() < end) Thread.onSpinWait();
+        return new Bean();
+    }
+
+    public static class Bean {
+    }
+}
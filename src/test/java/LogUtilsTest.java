@@ -0,0 +1,78 @@
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.example.logger.LogUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class LogUtilsTest {
+    private static final Logger logger = (Logger) LoggerFactory.getLogger("ApplicationLogger");
+
+    @Test
+    void testSupplierIsNotCalledWhenInfoIsDisabled() {
+        Level level = logger.getLevel();
+        logger.setLevel(Level.WARN);
+        try {
+            LogUtils.info(() -> Assertions.fail("must not be built"));
+            LogUtils.debug(() -> Assertions.fail("must not be built"));
+            LogUtils.event(() -> Assertions.fail("must not be built"));
+        } finally {
+            logger.setLevel(level);
+        }
+    }
+
+    @Test
+    void testAsyncEventsAreDroppedInsteadOfBlocking() throws Exception {
+        var writing = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        LogUtils.setAsync(true);
+        try {
+            // the writer thread is stuck on this message, so nothing leaves the queue
+            LogUtils.event(() -> {
+                writing.countDown();
+                awaitQuietly(release);
+                return "blocking event";
+            });
+            writing.await();
+
+            long dropped = LogUtils.getDroppedEvents();
+            Assertions.assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+                for (int i = 0; i < LogUtils.ASYNC_QUEUE_CAPACITY + 100; i++) LogUtils.event(() -> "event");
+            });
+            Assertions.assertEquals(100, LogUtils.getDroppedEvents() - dropped);
+        } finally {
+            release.countDown();
+            LogUtils.setAsync(false);
+        }
+    }
+
+    @Test
+    void testFailingSupplierDoesNotStopTheWriter() throws Exception {
+        var written = new CountDownLatch(1);
+        LogUtils.setAsync(true);
+        try {
+            LogUtils.event(() -> {
+                throw new IllegalStateException("broken message");
+            });
+            LogUtils.event(() -> {
+                written.countDown();
+                return "after the broken message";
+            });
+            Assertions.assertTrue(written.await(5, TimeUnit.SECONDS));
+        } finally {
+            LogUtils.setAsync(false);
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
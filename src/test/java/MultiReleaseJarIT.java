@@ -0,0 +1,45 @@
+import com.example.DI.BeanFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Runs with failsafe against the packaged jar (java21 profile), so the Java 21 classes
+// under META-INF/versions/21 are the ones loaded
+public class MultiReleaseJarIT {
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    void testParallelInitRunsOnVirtualThreads() throws Exception {
+        Assertions.assertTrue(BeanFactory.class.getProtectionDomain().getCodeSource().getLocation().getPath().endsWith(".jar"));
+
+        var factory = new BeanFactory();
+        factory.setParallelInit(true);
+        Set<Boolean> virtual = ConcurrentHashMap.newKeySet();
+
+        var batch = factory.newBatch();
+        for (int i = 0; i < 100; i++)
+            batch.register("bean" + i, Bean.class, () -> {
+                virtual.add(isVirtual(Thread.currentThread()));
+                return new Bean();
+            });
+        batch.commit();
+        factory.refresh();
+
+        Assertions.assertEquals(Set.of(true), virtual);
+    }
+
+    // Thread.isVirtual() only exists on Java 21+, the tests are compiled for Java 17
+    static boolean isVirtual(Thread thread) {
+        try {
+            return (boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public static class Bean {
+    }
+}
@@ -0,0 +1,251 @@
+import com.example.DI.BeanDefinition;
+import com.example.DI.BeanFactory;
+import com.example.annotations.*;
+import com.example.aop.BoundedCache;
+import com.example.aop.ProxyFactory;
+import com.example.aop.TimedInterceptor;
+import com.example.enums.Scope;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ProxyFactoryTest {
+    @Test
+    void testPlainComponentIsNotProxied() {
+        var component = new Plain();
+        Assertions.assertSame(component, ProxyFactory.createProxy(component));
+    }
+
+    @Test
+    void testCachedMethodIsCalledOncePerArgument() {
+        var target = new PriceServiceImpl();
+        var service = (PriceService) ProxyFactory.createProxy(target);
+
+        Assertions.assertEquals(20, service.price("a", 2));
+        Assertions.assertEquals(20, service.price("a", 2));
+        Assertions.assertEquals(30, service.price("a", 3));
+        Assertions.assertNull(service.lookup("missing"));
+        Assertions.assertNull(service.lookup("missing"));
+
+        Assertions.assertEquals(2, target.priceCalls.get());
+        Assertions.assertEquals(1, target.lookupCalls.get());
+    }
+
+    @Test
+    void testTimedMethodRecordsCalls() {
+        var service = (PriceService) ProxyFactory.createProxy(new PriceServiceImpl());
+        service.price("b", 1);
+        service.price("b", 1);
+
+        var timing = TimedInterceptor.getTimings().get(PriceServiceImpl.class.getName() + ".price(java.lang.String,int)");
+        Assertions.assertTrue(timing.getCount() >= 2);
+        Assertions.assertNull(TimedInterceptor.getTimings().get(PriceServiceImpl.class.getName() + ".lookup(java.lang.String)"));
+    }
+
+    @Test
+    void testOverloadsAreTimedSeparately() {
+        var counter = (Counter) ProxyFactory.createProxy(new CounterImpl());
+        counter.count("a");
+        counter.count("a", 2);
+        counter.count("a", 3);
+
+        var timings = TimedInterceptor.getTimings();
+        Assertions.assertEquals(1, timings.get(CounterImpl.class.getName() + ".count(java.lang.String)").getCount());
+        Assertions.assertEquals(2, timings.get(CounterImpl.class.getName() + ".count(java.lang.String,int)").getCount());
+    }
+
+    @Test
+    void testInterceptedComponentWithoutInterfaceIsRejected() {
+        Assertions.assertThrows(RuntimeException.class, () -> ProxyFactory.createProxy(new NoInterface()));
+    }
+
+    @Test
+    void testBoundedCacheEvictsOldestAndExpiredEntries() throws InterruptedException {
+        var cache = new BoundedCache<Integer, String>(0, 2);
+        cache.put(1, "one");
+        cache.put(2, "two");
+        cache.put(3, "three");
+        Assertions.assertEquals(2, cache.size());
+        Assertions.assertNull(cache.get(1));
+        Assertions.assertEquals("three", cache.get(3));
+
+        var expiring = new BoundedCache<Integer, String>(10, 2);
+        expiring.put(1, "one");
+        Thread.sleep(30);
+        Assertions.assertNull(expiring.get(1));
+    }
+
+    @Test
+    void testInterceptedBeanIsInjectedAsProxy() {
+        var factory = new BeanFactory();
+        factory.createBean(PriceServiceImpl.class.getName(),
+                new BeanDefinition(PriceServiceImpl.class, Scope.SINGLETON, "prices", null), PriceServiceImpl.class);
+        factory.createBean(Shop.class.getName(), new BeanDefinition(Shop.class, Scope.SINGLETON, null), Shop.class);
+        factory.injectDependencies();
+        factory.initializePostConstructMethods();
+
+        Shop shop = factory.getComponent(Shop.class.getName());
+        Assertions.assertTrue(Proxy.isProxyClass(shop.service.getClass()));
+        Assertions.assertEquals(10, shop.service.price("c", 1));
+    }
+
+    @Test
+    void testProxyEqualsComparesTargets() {
+        var target = new PriceServiceImpl();
+        var service = ProxyFactory.createProxy(target);
+        var other = ProxyFactory.createProxy(new PriceServiceImpl());
+
+        Assertions.assertEquals(service, service);
+        Assertions.assertEquals(service, ProxyFactory.createProxy(target));
+        Assertions.assertNotEquals(service, other);
+        Assertions.assertEquals(target.hashCode(), service.hashCode());
+    }
+
+    @Test
+    void testProxiesOfOneClassKeepTheirOwnCaches() {
+        var first = new PriceServiceImpl();
+        var second = new PriceServiceImpl();
+        var firstService = (PriceService) ProxyFactory.createProxy(first);
+        var secondService = (PriceService) ProxyFactory.createProxy(second);
+
+        firstService.price("d", 1);
+        firstService.price("d", 1);
+        secondService.price("d", 1);
+
+        Assertions.assertEquals(1, first.priceCalls.get());
+        Assertions.assertEquals(1, second.priceCalls.get());
+    }
+
+    @Test
+    void testInterceptedBeanRequestedByClassIsRejected() {
+        var factory = new BeanFactory();
+        var name = PriceServiceImpl.class.getName();
+        factory.createBean(name, new BeanDefinition(PriceServiceImpl.class, Scope.SINGLETON, null), PriceServiceImpl.class);
+
+        Assertions.assertNotNull(factory.getComponent(name, PriceService.class));
+        var e = Assertions.assertThrows(RuntimeException.class, () -> factory.getComponent(name, PriceServiceImpl.class));
+        Assertions.assertEquals("Intercepted bean " + name + " must be requested or injected by interface, not as " + name, e.getMessage());
+    }
+
+    @Test
+    void testInterceptedBeanInjectedByClassIsRejected() {
+        var factory = new BeanFactory();
+        factory.createBean(PriceServiceImpl.class.getName(),
+                new BeanDefinition(PriceServiceImpl.class, Scope.SINGLETON, null), PriceServiceImpl.class);
+        factory.createBean(ShopByClass.class.getName(), new BeanDefinition(ShopByClass.class, Scope.SINGLETON, null), ShopByClass.class);
+
+        Assertions.assertTrue(factory.validate().contains(ShopByClass.class.getName() + ".service: intercepted bean "
+                + PriceServiceImpl.class.getName() + " must be injected by interface, not as " + PriceServiceImpl.class.getName()));
+        var e = Assertions.assertThrows(RuntimeException.class, factory::injectDependencies);
+        Assertions.assertTrue(e.getMessage().contains("must be requested or injected by interface"), e.getMessage());
+    }
+
+    @Test
+    void testInterceptedBeanIsInjectedByInterface() {
+        var factory = new BeanFactory();
+        factory.createBean(PriceServiceImpl.class.getName(),
+                new BeanDefinition(PriceServiceImpl.class, Scope.SINGLETON, null), PriceServiceImpl.class);
+        factory.createBean(ShopByInterface.class.getName(), new BeanDefinition(ShopByInterface.class, Scope.SINGLETON, null), ShopByInterface.class);
+
+        Assertions.assertEquals(List.of(), factory.validate());
+        factory.injectDependencies();
+
+        ShopByInterface shop = factory.getComponent(ShopByInterface.class.getName());
+        Assertions.assertTrue(Proxy.isProxyClass(shop.service.getClass()));
+        Assertions.assertSame(shop.service, factory.getComponent(PriceService.class.getName(), PriceService.class));
+        Assertions.assertEquals(Set.of(PriceServiceImpl.class.getName()),
+                factory.getDependencyGraph().getDependencies(ShopByInterface.class.getName()));
+    }
+
+    @Test
+    void testInterfaceOfSeveralInterceptedBeansNeedsQualifier() {
+        var factory = new BeanFactory();
+        factory.createBean(PriceServiceImpl.class.getName(),
+                new BeanDefinition(PriceServiceImpl.class, Scope.SINGLETON, null), PriceServiceImpl.class);
+        factory.createBean(DiscountPriceService.class.getName(),
+                new BeanDefinition(DiscountPriceService.class, Scope.SINGLETON, null), DiscountPriceService.class);
+        factory.createBean(ShopByInterface.class.getName(), new BeanDefinition(ShopByInterface.class, Scope.SINGLETON, null), ShopByInterface.class);
+
+        var problems = factory.validate();
+        Assertions.assertEquals(1, problems.size());
+        Assertions.assertTrue(problems.get(0).contains("pick one with @Qualifier"), problems.get(0));
+        var e = Assertions.assertThrows(RuntimeException.class, factory::injectDependencies);
+        Assertions.assertTrue(e.getMessage().contains("all implement " + PriceService.class.getName()), e.getMessage());
+    }
+
+    public interface PriceService {
+        int price(String item, int quantity);
+
+        String lookup(String item);
+    }
+
+    @Component
+    public static class PriceServiceImpl implements PriceService {
+        final AtomicInteger priceCalls = new AtomicInteger();
+        final AtomicInteger lookupCalls = new AtomicInteger();
+
+        @Timed
+        @Cached(ttl = 60_000, maxSize = 10)
+        public int price(String item, int quantity) {
+            priceCalls.incrementAndGet();
+            return quantity * 10;
+        }
+
+        @Cached
+        public String lookup(String item) {
+            lookupCalls.incrementAndGet();
+            return null;
+        }
+    }
+
+    @Component
+    public static class Shop {
+        @Autowired
+        @Qualifier("prices")
+        PriceService service;
+    }
+
+    @Component
+    public static class ShopByClass {
+        @Autowired
+        PriceServiceImpl service;
+    }
+
+    @Component
+    public static class ShopByInterface {
+        @Autowired
+        PriceService service;
+    }
+
+    @Component
+    public static class DiscountPriceService extends PriceServiceImpl {
+    }
+
+    public interface Counter {
+        int count(String item);
+
+        int count(String item, int times);
+    }
+
+    @Timed
+    public static class CounterImpl implements Counter {
+        public int count(String item) {
+            return 1;
+        }
+
+        public int count(String item, int times) {
+            return times;
+        }
+    }
+
+    public static class Plain {
+    }
+
+    @Timed
+    public static class NoInterface {
+    }
+}
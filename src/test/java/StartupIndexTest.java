@@ -0,0 +1,66 @@
+import com.example.DI.ApplicationContext;
+import com.example.GreetingClient;
+import com.example.MyClient;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+public class StartupIndexTest {
+    @TempDir
+    Path trainingDir;
+
+    @Test
+    void testTrainingRunIndexIsReplayed() throws Exception {
+        System.setProperty("di.training.dir", trainingDir.toString());
+        try {
+            new ApplicationContext("com.example");
+        } finally {
+            System.clearProperty("di.training.dir");
+        }
+        Path index = trainingDir.resolve("beans.idx");
+        List<String> lines = Files.readAllLines(index);
+        Assertions.assertEquals("# basePackage=com.example", lines.get(0));
+        Assertions.assertTrue(lines.get(1).startsWith("# fingerprint="));
+        Assertions.assertTrue(lines.contains(GreetingClient.class.getName()));
+
+        System.setProperty("di.startup.index", index.toString());
+        try {
+            var context = new ApplicationContext("com.example");
+            Assertions.assertNotNull(context.getBean(MyClient.class));
+            Assertions.assertEquals(lines.size() - 1, context.getDependencyGraph().getBeans().size()); // components + event publisher
+        } finally {
+            System.clearProperty("di.startup.index");
+        }
+    }
+
+    @Test
+    void testIndexWithStaleFingerprintIsIgnored() throws Exception {
+        Path index = trainingDir.resolve("beans.idx");
+        // recorded before components were added: only one of them is listed
+        Files.write(index, List.of("# basePackage=com.example", "# fingerprint=0", MyClient.class.getName()));
+        System.setProperty("di.startup.index", index.toString());
+        try {
+            var context = new ApplicationContext("com.example");
+            Assertions.assertNotNull(context.getBean(GreetingClient.class));
+        } finally {
+            System.clearProperty("di.startup.index");
+        }
+    }
+
+    @Test
+    void testIndexOfAnotherPackageIsIgnored() throws Exception {
+        Path index = trainingDir.resolve("beans.idx");
+        Files.write(index, List.of("# basePackage=other", "does.not.Exist"));
+        System.setProperty("di.startup.index", index.toString());
+        try {
+            var context = new ApplicationContext("com.example");
+            Assertions.assertNotNull(context.getBean(GreetingClient.class));
+        } finally {
+            System.clearProperty("di.startup.index");
+        }
+    }
+}
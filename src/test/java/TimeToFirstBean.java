@@ -0,0 +1,14 @@
+import com.example.DI.ApplicationContext;
+
+import java.lang.management.ManagementFactory;
+
+// Prints the time from JVM start to the first getBean on stderr, used by bin/startup-bench.sh:
+//   TimeToFirstBean <basePackage> <beanClass>
+public class TimeToFirstBean {
+    public static void main(String[] args) throws Exception {
+        var context = new ApplicationContext(args[0]);
+        context.getBean(Class.forName(args[1]));
+        long vmStart = ManagementFactory.getRuntimeMXBean().getStartTime();
+        System.err.println("TTFB " + (System.currentTimeMillis() - vmStart));
+    }
+}